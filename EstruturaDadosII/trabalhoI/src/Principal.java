@@ -1,20 +1,46 @@
 // src/Principal.java
 
 import arvore.AVLTree;
+import arvore.ArrayTree;
 import arvore.BSTree;
+import arvore.PersistentTree;
 import arvore.TreeStats;
+import pipeline.AnalysisPipeline;
+import snapshot.VocabularySnapshot;
+import tokenizer.ParallelTokenizer;
+import tokenizer.SymbolTable;
 import tokenizer.TextTokenizer;
 import vetor.DynamicWordFrequencyVector;
+import vetor.VectorStrategy;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * Classe principal para execução em modo console
  * Permite testar as estruturas sem a interface gráfica
+ * Uso: java Principal [arquivo.txt] (padrão: src/resources/atv.txt)
  */
 public class Principal {
+    private static final int PALAVRAS_SINTETICAS = 1_000_000; // Vocabulário da comparação de memória
+    private static final int RODADAS_MEDICAO = 5; // Construções por estrutura (vale a mediana)
+    private static final int VERSOES_PERSISTENTES = 10_000; // Palavras inseridas na AVL persistente
+
     public static void main(String[] args) {
         TextTokenizer tokenizer = new TextTokenizer();
-        tokenizer.loadTextFile("src/resources/atv.txt");
-        String[] palavrasTeste = tokenizer.tokenizeToArray(tokenizer.TEXT);
+        String arquivo = args.length > 0 ? args[0] : "src/resources/atv.txt";
+
+        // Cada estrutura lê o arquivo em streaming, sem manter o texto inteiro em
+        // memória
+        Consumer<Consumer<String>> palavrasTeste = destino -> tokenizer.tokenizeFile(arquivo, true, destino);
 
         // -------------------------------
         // Vetor Dinâmico
@@ -25,6 +51,22 @@ public class Principal {
         vector.displayWordFrequencies();
         System.out.println(statsVetor);
 
+        // Mesma contagem com buffer + merge (sem deslocar o vetor a cada palavra nova)
+        System.out.println("\n-- Vetor Dinâmico (" + VectorStrategy.BUFFER_MERGE + ") --");
+        System.out.println(new DynamicWordFrequencyVector(VectorStrategy.BUFFER_MERGE).buildWithStats(palavrasTeste));
+
+        // Construção em lote: ordena todos os tokens e conta as repetições
+        System.out.println("\n-- Vetor Dinâmico (" + VectorStrategy.SORT_COUNT + ") --");
+        System.out.println(new DynamicWordFrequencyVector(VectorStrategy.SORT_COUNT).buildWithStats(palavrasTeste));
+
+        // Buscas de todas as palavras do texto, com e sem o índice de prefixos
+        DynamicWordFrequencyVector comIndice = new DynamicWordFrequencyVector(VectorStrategy.INCREMENTAL, true);
+        comIndice.buildWithStats(palavrasTeste);
+        System.out.println("\n-- Buscas no vetor com índice de prefixos --");
+        System.out.println(comIndice.searchWithStats(palavrasTeste));
+        System.out.println("\n-- Buscas no vetor sem índice de prefixos --");
+        System.out.println(vector.searchWithStats(palavrasTeste));
+
         // -------------------------------
         // Árvore Binária de Busca (BST)
         // -------------------------------
@@ -40,5 +82,173 @@ public class Principal {
         AVLTree avl = new AVLTree();
         TreeStats statsAVL = avl.buildWithStats(palavrasTeste);
         System.out.println(statsAVL);
+
+        // Estatísticas de ordem (tamanhos e somas das subárvores, O(log n))
+        if (avl.size() > 0) {
+            System.out.println("Palavra mediana: " + avl.select(avl.size() / 2));
+            System.out.println("Palavras entre 'casa' e 'mesa': " + avl.countRange("casa", "mesa"));
+            System.out.printf("Ocorrências antes de 'mesa': %.1f%%%n",
+                    100.0 * avl.sumFrequencyRange(null, "mesa") / avl.getTotalOcorrencias());
+        }
+
+        // Árvores parciais por bloco de tokens, unidas com fork/join
+        System.out.println("\n-- AVL (blocos em paralelo + união) --");
+        String[] tokens = new ParallelTokenizer(tokenizer).tokenizeFileToArray(arquivo, true);
+        System.out.println(new AVLTree().buildParallelWithStats(tokens));
+
+        // Uma versão por palavra inserida; as anteriores continuam consultáveis
+        // (compartilham as subárvores que a inserção não tocou)
+        System.out.println("\n-- AVL persistente (uma versão por palavra) --");
+        int passos = Math.min(tokens.length, VERSOES_PERSISTENTES);
+        PersistentTree[] versoes = new PersistentTree[passos + 1];
+        versoes[0] = PersistentTree.empty(true);
+        for (int i = 0; i < passos; i++) {
+            versoes[i + 1] = versoes[i].insert(tokens[i]);
+        }
+        System.out.println(versoes[passos].getStats());
+        PersistentTree meio = versoes[passos / 2];
+        System.out.printf("Versão %d: %d palavras, altura %d (versão %d: %d palavras, altura %d)%n",
+                passos / 2, meio.size(), meio.getAltura(), passos, versoes[passos].size(),
+                versoes[passos].getAltura());
+
+        // -------------------------------
+        // Snapshot binário do vocabulário (reabre sem tokenizar de novo)
+        // -------------------------------
+        System.out.println("\n=== SNAPSHOT DO VOCABULÁRIO ===");
+        // Arquivo temporário: a demonstração não deixa binários ao lado do texto
+        Path snapshot = null;
+        try {
+            snapshot = Files.createTempFile("vocabulario", ".vocab");
+            VocabularySnapshot.write(avl.range(null, null), snapshot);
+            long inicio = System.nanoTime();
+            VocabularySnapshot vocabulario = VocabularySnapshot.open(snapshot);
+            double abertura = (System.nanoTime() - inicio) / 1_000_000.0;
+            System.out.printf("%s: %,d bytes, %,d palavras, %,d ocorrências, aberto em %.2f ms%n",
+                    snapshot.getFileName(), snapshot.toFile().length(), vocabulario.size(),
+                    vocabulario.getTotalOcorrencias(), abertura);
+
+            // Recarga sem reinserir: árvores balanceadas montadas direto dos pares ordenados
+            inicio = System.nanoTime();
+            AVLTree avlRecarregada = AVLTree.fromSorted(vocabulario.iterator());
+            double recargaAVL = (System.nanoTime() - inicio) / 1_000_000.0;
+            inicio = System.nanoTime();
+            BSTree bstRecarregada = BSTree.fromSorted(vocabulario.iterator());
+            double recargaBST = (System.nanoTime() - inicio) / 1_000_000.0;
+            System.out.printf("Recarga: AVL altura %d em %.2f ms, BST altura %d em %.2f ms%n",
+                    avlRecarregada.getAltura(), recargaAVL, bstRecarregada.getAltura(), recargaBST);
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar o snapshot: " + e.getMessage());
+        } finally {
+            if (snapshot != null) {
+                snapshot.toFile().deleteOnExit(); // Ainda mapeado em memória: removido ao sair
+            }
+        }
+
+        // -------------------------------
+        // Tokens codificados como IDs inteiros (comparações entre ranks)
+        // -------------------------------
+        System.out.println("\n=== ESTRUTURAS COM IDS (TABELA DE SÍMBOLOS) ===");
+        SymbolTable tabela = new SymbolTable();
+        int[] ids = tokenizer.tokenizeFileToIds(arquivo, tabela);
+        System.out.println(ids.length + " tokens, " + tabela.size() + " palavras distintas");
+        System.out.println("\n-- Vetor Dinâmico (IDs) --");
+        System.out.println(new DynamicWordFrequencyVector().buildWithStats(ids, tabela));
+        System.out.println("\n-- Vetor Dinâmico (IDs, " + VectorStrategy.SORT_COUNT + ") --");
+        System.out.println(new DynamicWordFrequencyVector(VectorStrategy.SORT_COUNT).buildWithStats(ids, tabela));
+        System.out.println("\n-- BST (IDs) --");
+        System.out.println(new BSTree().buildWithStats(ids, tabela));
+        System.out.println("\n-- AVL (IDs) --");
+        System.out.println(new AVLTree().buildWithStats(ids, tabela));
+
+        // -------------------------------
+        // Pipeline: leitura, tokenização e contagem em threads separadas
+        // -------------------------------
+        System.out.println("\n=== PIPELINE (LEITURA → TOKENIZAÇÃO → CONTAGEM) ===");
+        AnalysisPipeline pipeline = new AnalysisPipeline(tokenizer);
+        System.out.println(new AVLTree().buildWithStats(pipeline.producer(arquivo, true)));
+        System.out.println(pipeline.getLastStats());
+
+        // -------------------------------
+        // Nós em vetores paralelos (SoA) vs um objeto por nó
+        // -------------------------------
+        System.out.println("\n=== ÁRVORES EM VETORES PARALELOS vs OBJETOS ===");
+        System.out.printf("(%,d palavras distintas sintéticas em ordem aleatória; mediana de %d rodadas;%n",
+                PALAVRAS_SINTETICAS, RODADAS_MEDICAO);
+        System.out.println(" memória retida por nó, sem as Strings; as versões com objetos incluem a cópia Node da GUI)");
+        String[] sinteticas = vocabularioSintetico(PALAVRAS_SINTETICAS);
+        medirConstrucao("BST (vetores)", () -> new ArrayTree(false), t -> t.buildWithStats(sinteticas), ArrayTree::size);
+        medirConstrucao("BST (objetos)", BSTree::new, t -> t.buildWithStats(sinteticas), BSTree::size);
+        medirConstrucao("AVL (vetores)", () -> new ArrayTree(true), t -> t.buildWithStats(sinteticas), ArrayTree::size);
+        medirConstrucao("AVL (objetos)", AVLTree::new, t -> t.buildWithStats(sinteticas), AVLTree::size);
+    }
+
+    /**
+     * Gera palavras distintas em ordem aleatória (semente fixa), para que a BST
+     * simples não degenere e todas as estruturas recebam a mesma entrada
+     *
+     * @param quantidade Número de palavras
+     * @return Palavras embaralhadas
+     */
+    private static String[] vocabularioSintetico(int quantidade) {
+        String[] palavras = new String[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            palavras[i] = "w" + Integer.toString(i, 36);
+        }
+        Random aleatorio = new Random(42);
+        for (int i = quantidade - 1; i > 0; i--) {
+            int j = aleatorio.nextInt(i + 1);
+            String t = palavras[i];
+            palavras[i] = palavras[j];
+            palavras[j] = t;
+        }
+        return palavras;
+    }
+
+    /**
+     * Constrói uma estrutura nova várias vezes e imprime a mediana do tempo e
+     * da memória retida por nó (diferença do heap depois do GC, com a
+     * estrutura ainda alcançável)
+     *
+     * @param nome       Rótulo da linha
+     * @param nova       Cria a estrutura vazia
+     * @param construcao Build da estrutura
+     * @param nos        Número de nós da estrutura (lido após o build)
+     */
+    private static <T> void medirConstrucao(String nome, Supplier<T> nova, Function<T, TreeStats> construcao,
+            ToIntFunction<T> nos) {
+        double[] tempos = new double[RODADAS_MEDICAO];
+        double[] bytesPorNo = new double[RODADAS_MEDICAO];
+        TreeStats stats = null;
+        for (int r = 0; r < RODADAS_MEDICAO; r++) {
+            long antes = memoriaEmUso();
+            T estrutura = nova.get();
+            stats = construcao.apply(estrutura);
+            long depois = memoriaEmUso();
+            tempos[r] = stats.getTempoMilissegundos();
+            bytesPorNo[r] = (depois - antes) / (double) Math.max(1, nos.applyAsInt(estrutura));
+            Reference.reachabilityFence(estrutura); // Mantém a estrutura viva até depois da medição
+        }
+        double bytes = mediana(bytesPorNo);
+        System.out.printf("%-14s tempo %8.2f ms | comparações %,d | rotações %,d | altura %d | %s%n",
+                nome, mediana(tempos), stats.getComparacoes(), stats.getRotacoes(), stats.getAltura(),
+                bytes > 0 ? String.format("%,.1f bytes/nó", bytes) : "memória não mensurável");
+    }
+
+    private static double mediana(double[] valores) {
+        double[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        int meio = ordenados.length / 2;
+        return ordenados.length % 2 == 1 ? ordenados[meio] : (ordenados[meio - 1] + ordenados[meio]) / 2;
+    }
+
+    /**
+     * @return Bytes em uso no heap depois de pedir uma coleta de lixo
+     */
+    private static long memoriaEmUso() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
     }
 }
\ No newline at end of file
@@ -1,15 +1,43 @@
 package arvore;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.IntBinaryOperator;
+
+import tokenizer.SymbolTable;
 
 /**
  * Classe que implementa uma Árvore AVL (Árvore Binária de Busca Balanceada)
  * Mantém a propriedade de balanceamento para garantir altura log(n)
  * Inclui contadores para análise de desempenho e compatibilidade com GUI
+ *
+ * A inserção é iterativa: guarda o caminho da raiz até o novo nó e sobe por
+ * ele atualizando alturas, parando no primeiro ancestral cuja altura não
+ * mudou (ou logo após uma rotação, que devolve à subárvore a altura de antes).
+ *
+ * Cada nó guarda também o número de nós e a soma das frequências da sua
+ * subárvore, o que responde rank, select e contagens de intervalo em O(log n),
+ * sem percorrer o vocabulário.
+ *
+ * Também há operações baseadas em junção (join, split e union), que religam
+ * árvores inteiras em vez de inserir palavra por palavra. Com elas, árvores
+ * parciais construídas em threads separadas são unidas em paralelo
+ * (buildParallelWithStats).
  */
 public class AVLTree {
+    private static final int LIMIAR_PARALELO = 1 << 12; // Nós abaixo dos quais a união não cria tarefas
+    private static final int TAMANHO_MINIMO_BLOCO = 1 << 13; // Menor bloco de palavras por tarefa no build paralelo
+
     private Node raiz; // Raiz da árvore (para compatibilidade com GUI)
+    private boolean raizDesatualizada = false; // raiz precisa ser reconvertida (após join, split ou union)
     private int comparacoes = 0; // Contador de comparações realizadas
     private int atribuicoes = 0; // Contador de atribuições realizadas
     private int rotacoes = 0; // Contador de rotações realizadas
@@ -24,22 +52,43 @@ public class AVLTree {
         AVLNode esquerda; // Filho esquerdo
         AVLNode direita; // Filho direito
         int altura; // Altura do nó na árvore
+        int chave; // Rank alfabético da palavra (modo IDs) ou -1
+        int id = -1; // Id do nó no registro de inserções (-1 = sem registro)
+        int tamanho; // Nós na subárvore (incluindo este)
+        long soma; // Soma das frequências da subárvore
 
         /**
          * Construtor do nó AVL
          * 
          * @param palavra Palavra a ser armazenada
+         * @param chave   Rank alfabético da palavra (ou -1 se desconhecido)
          */
-        AVLNode(String palavra) {
+        AVLNode(String palavra, int chave) {
             this.palavra = palavra;
+            this.chave = chave;
             this.frequencia = 1; // Frequência inicializada com 1
             this.altura = 1; // Altura inicial de um nó folha
+            this.tamanho = 1;
+            this.soma = 1;
             this.esquerda = null;
             this.direita = null;
         }
     }
 
     private AVLNode raizAVL; // Raiz da árvore AVL interna
+    private AVLNode[] caminho = new AVLNode[64]; // Nós visitados na última descida (reaproveitado)
+    private InsertionTrace trace; // Registro das inserções (null = desligado)
+    private int[] ranksDasChaves; // Vetor de ranks que gerou as chaves guardadas (null = nenhuma)
+
+    /**
+     * Liga o registro das inserções seguintes (nós criados, incrementos e
+     * rotações) para reprodução passo a passo
+     * 
+     * @param trace Registro a ser preenchido (null desliga)
+     */
+    public void setTrace(InsertionTrace trace) {
+        this.trace = trace;
+    }
 
     /**
      * Método público para inserção na árvore AVL
@@ -47,72 +96,138 @@ public class AVLTree {
      * @param palavra Palavra a ser inserida
      */
     public void insertAVL(String palavra) {
-        raizAVL = insertAVLRec(raizAVL, palavra);
+        inserir(palavra, -1);
     }
 
     /**
-     * Método recursivo para inserção na árvore AVL
+     * Inserção iterativa na árvore AVL
      * 
-     * @param node    Nó atual na recursão
      * @param palavra Palavra a ser inserida
-     * @return Novo nó (ou nó atualizado) após inserção
+     * @param chave   Rank alfabético da palavra (ou -1 para comparar Strings)
      */
-    private AVLNode insertAVLRec(AVLNode node, String palavra) {
-        // Passo 1: Inserção normal BST
-        if (node == null) {
-            atribuicoes++;
-            return new AVLNode(palavra);
+    private void inserir(String palavra, int chave) {
+        // Passo 1: Descida normal BST, guardando o caminho
+        int profundidade = 0;
+        int cmp = 0;
+        AVLNode node = raizAVL;
+        while (node != null) {
+            comparacoes++;
+            node.soma++; // A ocorrência entra na subárvore de todo nó do caminho
+            cmp = comparar(palavra, chave, node);
+            if (cmp == 0) {
+                // Palavra já existe, incrementa frequência (sem rebalanceamento)
+                atribuicoes++;
+                node.frequencia++;
+                if (trace != null) {
+                    trace.incrementar(node.id);
+                }
+                return;
+            }
+            if (profundidade == caminho.length) {
+                caminho = Arrays.copyOf(caminho, profundidade * 2);
+            }
+            caminho[profundidade++] = node;
+            node = cmp < 0 ? node.esquerda : node.direita;
         }
 
-        comparacoes++;
-        int cmp = palavra.compareTo(node.palavra);
-
-        // Inserção na subárvore esquerda ou direita
-        if (cmp < 0) {
-            node.esquerda = insertAVLRec(node.esquerda, palavra);
-        } else if (cmp > 0) {
-            node.direita = insertAVLRec(node.direita, palavra);
+        atribuicoes++;
+        AVLNode novo = new AVLNode(palavra, chave);
+        if (trace != null) {
+            novo.id = trace.criar(palavra, profundidade == 0 ? -1 : caminho[profundidade - 1].id, cmp < 0);
+        }
+        if (profundidade == 0) {
+            raizAVL = novo;
+            return;
+        }
+        for (int i = 0; i < profundidade; i++) {
+            caminho[i].tamanho++; // Antes das rotações, que recalculam a partir dos filhos
+        }
+        AVLNode pai = caminho[profundidade - 1];
+        if (cmp < 0) { // Resultado da última comparação da descida
+            pai.esquerda = novo;
         } else {
-            // Palavra já existe, incrementa frequência
-            atribuicoes++;
-            node.frequencia++;
-            return node; // Retorna sem rebalanceamento para palavras duplicadas
+            pai.direita = novo;
         }
 
-        // Passo 2: Atualiza altura do nó atual
-        node.altura = 1 + Math.max(getHeight(node.esquerda), getHeight(node.direita));
+        // Passo 2: Sobe pelo caminho atualizando alturas
+        for (int i = profundidade - 1; i >= 0; i--) {
+            node = caminho[i];
+            int alturaAntiga = node.altura;
+            node.altura = 1 + Math.max(getHeight(node.esquerda), getHeight(node.direita));
 
-        // Passo 3: Calcula fator de balanceamento
-        int balance = getBalance(node);
+            // Passo 3: Calcula fator de balanceamento
+            int balance = getBalance(node);
+            if (balance > 1 || balance < -1) {
+                // Passo 4: Rotação; o caso sai do balanceamento do filho, sem comparar
+                // palavras. Depois dela a subárvore volta à altura de antes da inserção.
+                AVLNode novaRaiz = rebalancear(node, balance);
+                if (i == 0) {
+                    raizAVL = novaRaiz;
+                } else if (caminho[i - 1].esquerda == node) {
+                    caminho[i - 1].esquerda = novaRaiz;
+                } else {
+                    caminho[i - 1].direita = novaRaiz;
+                }
+                break;
+            }
+            if (node.altura == alturaAntiga) {
+                break; // Altura não mudou: os ancestrais continuam iguais
+            }
+        }
+        Arrays.fill(caminho, 0, profundidade, null);
+    }
 
-        // Passo 4: Realiza rotações se necessário
-        // Caso Left Left (rotação simples à direita)
-        if (balance > 1 && palavra.compareTo(node.esquerda.palavra) < 0) {
-            rotacoes++;
+    /**
+     * Aplica a rotação adequada a um nó desbalanceado pela inserção
+     * 
+     * @param node    Nó desbalanceado
+     * @param balance Fator de balanceamento do nó (2 ou -2)
+     * @return Nova raiz da subárvore
+     */
+    private AVLNode rebalancear(AVLNode node, int balance) {
+        if (balance > 1) {
+            if (getBalance(node.esquerda) >= 0) {
+                // Caso Left Left (rotação simples à direita)
+                rotacoes++;
+                registrarRotacao(InsertionTrace.LL, node);
+                return rotateRight(node);
+            }
+            // Caso Left Right (rotação dupla: esquerda-direita)
+            rotacoes += 2; // Rotação dupla
+            registrarRotacao(InsertionTrace.LR, node);
+            node.esquerda = rotateLeft(node.esquerda);
             return rotateRight(node);
         }
-
-        // Caso Right Right (rotação simples à esquerda)
-        if (balance < -1 && palavra.compareTo(node.direita.palavra) > 0) {
+        if (getBalance(node.direita) <= 0) {
+            // Caso Right Right (rotação simples à esquerda)
             rotacoes++;
+            registrarRotacao(InsertionTrace.RR, node);
             return rotateLeft(node);
         }
+        // Caso Right Left (rotação dupla: direita-esquerda)
+        rotacoes += 2; // Rotação dupla
+        registrarRotacao(InsertionTrace.RL, node);
+        node.direita = rotateRight(node.direita);
+        return rotateLeft(node);
+    }
 
-        // Caso Left Right (rotação dupla: esquerda-direita)
-        if (balance > 1 && palavra.compareTo(node.esquerda.palavra) > 0) {
-            rotacoes += 2; // Rotação dupla
-            node.esquerda = rotateLeft(node.esquerda);
-            return rotateRight(node);
+    private void registrarRotacao(int caso, AVLNode node) {
+        if (trace != null) {
+            trace.rotacao(caso, node.id);
         }
+    }
 
-        // Caso Right Left (rotação dupla: direita-esquerda)
-        if (balance < -1 && palavra.compareTo(node.direita.palavra) < 0) {
-            rotacoes += 2; // Rotação dupla
-            node.direita = rotateRight(node.direita);
-            return rotateLeft(node);
+    /**
+     * Compara a palavra com a de um nó: por inteiros quando ambos têm rank
+     * (modo IDs), senão por compareTo
+     * 
+     * @return Negativo, zero ou positivo como em compareTo
+     */
+    private int comparar(String palavra, int chave, AVLNode node) {
+        if (chave >= 0 && node.chave >= 0) {
+            return Integer.compare(chave, node.chave);
         }
-
-        return node; // Retorna nó não modificado se balanceado
+        return palavra.compareTo(node.palavra);
     }
 
     /**
@@ -121,17 +236,36 @@ public class AVLTree {
      * @param node Nó a ser verificado
      * @return Altura do nó
      */
-    private int getHeight(AVLNode node) {
+    private static int getHeight(AVLNode node) {
         return node == null ? 0 : node.altura;
     }
 
+    private static int getTamanho(AVLNode node) {
+        return node == null ? 0 : node.tamanho;
+    }
+
+    private static long getSoma(AVLNode node) {
+        return node == null ? 0 : node.soma;
+    }
+
+    /**
+     * Recalcula altura, tamanho e soma de um nó a partir dos filhos
+     * 
+     * @param node Nó cujos filhos já estão atualizados
+     */
+    private static void atualizar(AVLNode node) {
+        node.altura = Math.max(getHeight(node.esquerda), getHeight(node.direita)) + 1;
+        node.tamanho = 1 + getTamanho(node.esquerda) + getTamanho(node.direita);
+        node.soma = node.frequencia + getSoma(node.esquerda) + getSoma(node.direita);
+    }
+
     /**
      * Calcula fator de balanceamento de um nó
      * 
      * @param node Nó a ser verificado
      * @return Fator de balanceamento (altura_esquerda - altura_direita)
      */
-    private int getBalance(AVLNode node) {
+    private static int getBalance(AVLNode node) {
         return node == null ? 0 : getHeight(node.esquerda) - getHeight(node.direita);
     }
 
@@ -143,7 +277,7 @@ public class AVLTree {
      * @param y Nó desbalanceado
      * @return Nova raiz da subárvore
      */
-    private AVLNode rotateRight(AVLNode y) {
+    private static AVLNode rotateRight(AVLNode y) {
         AVLNode x = y.esquerda;
         AVLNode T2 = x.direita;
 
@@ -151,9 +285,9 @@ public class AVLTree {
         x.direita = y;
         y.esquerda = T2;
 
-        // Atualiza alturas
-        y.altura = Math.max(getHeight(y.esquerda), getHeight(y.direita)) + 1;
-        x.altura = Math.max(getHeight(x.esquerda), getHeight(x.direita)) + 1;
+        // Atualiza alturas, tamanhos e somas (y agora é filho de x)
+        atualizar(y);
+        atualizar(x);
 
         return x; // Retorna nova raiz
     }
@@ -164,7 +298,7 @@ public class AVLTree {
      * @param x Nó desbalanceado
      * @return Nova raiz da subárvore
      */
-    private AVLNode rotateLeft(AVLNode x) {
+    private static AVLNode rotateLeft(AVLNode x) {
         AVLNode y = x.direita;
         AVLNode T2 = y.esquerda;
 
@@ -172,9 +306,9 @@ public class AVLTree {
         y.esquerda = x;
         x.direita = T2;
 
-        // Atualiza alturas
-        x.altura = Math.max(getHeight(x.esquerda), getHeight(x.direita)) + 1;
-        y.altura = Math.max(getHeight(y.esquerda), getHeight(y.direita)) + 1;
+        // Atualiza alturas, tamanhos e somas (x agora é filho de y)
+        atualizar(x);
+        atualizar(y);
 
         return y; // Retorna nova raiz
     }
@@ -186,13 +320,66 @@ public class AVLTree {
      * @return Estatísticas da construção da árvore
      */
     public TreeStats buildWithStats(String[] palavras) {
+        return buildWithStats(destino -> {
+            for (String palavra : palavras) {
+                destino.accept(palavra);
+            }
+        });
+    }
+
+    /**
+     * Constrói a árvore a partir de um produtor de palavras (ex.: tokenização em
+     * streaming de um arquivo), sem exigir o vetor completo de tokens em memória.
+     * O tempo medido inclui o trabalho do próprio produtor.
+     * 
+     * @param produtor Recebe o destino das palavras e entrega cada uma a ele
+     * @return Estatísticas da construção da árvore
+     */
+    public TreeStats buildWithStats(Consumer<Consumer<String>> produtor) {
+        return construir(() -> produtor.accept(this::insertAVL));
+    }
+
+    /**
+     * Constrói a árvore a partir de uma sequência de IDs de palavras (tokens
+     * codificados por uma SymbolTable). As comparações passam a ser entre ranks
+     * inteiros e cada nó reaproveita a única String guardada na tabela.
+     * Todas as inserções por ID de uma mesma árvore devem usar a mesma tabela,
+     * sem palavras novas entre uma construção e outra: os ranks mudam quando a
+     * tabela cresce, e as chaves já guardadas deixariam de ser comparáveis.
+     * 
+     * @param ids    IDs das palavras, na ordem de inserção
+     * @param tabela Tabela que gerou os IDs
+     * @return Estatísticas da construção da árvore
+     * @throws IllegalArgumentException Se a tabela (ou seu vetor de ranks) não
+     *                                  for a da construção anterior por IDs
+     */
+    public TreeStats buildWithStats(int[] ids, SymbolTable tabela) {
+        int[] ranks = tabela.ranks();
+        if (ranksDasChaves != null && ranksDasChaves != ranks) {
+            // As chaves já guardadas são posições em outro vetor de ranks
+            throw new IllegalArgumentException(
+                    "Tabela diferente (ou com palavras novas) da usada na construção anterior por IDs");
+        }
+        ranksDasChaves = ranks;
+        return construir(() -> {
+            for (int id : ids) {
+                inserir(tabela.word(id), ranks[id]);
+            }
+        });
+    }
+
+    /**
+     * Executa as inserções medindo tempo e contadores
+     * 
+     * @param insercoes Inserções a serem realizadas
+     * @return Estatísticas da construção da árvore
+     */
+    private TreeStats construir(Runnable insercoes) {
         resetAnalise(); // Reseta contadores
         long startTime = System.nanoTime(); // Inicia medição de tempo
 
         // Insere todas as palavras
-        for (String palavra : palavras) {
-            insertAVL(palavra);
-        }
+        insercoes.run();
 
         long endTime = System.nanoTime();
         double tempo = (endTime - startTime) / 1_000_000.0; // Converte para milissegundos
@@ -209,6 +396,454 @@ public class AVLTree {
      */
     private void convertToNodeStructure() {
         raiz = convertToNode(raizAVL, null);
+        raizDesatualizada = false;
+    }
+
+    /**
+     * Marca a estrutura Node como desatualizada depois de uma operação que
+     * religou a árvore; ela é reconvertida só quando a GUI pedir
+     */
+    private void estruturaAlterada() {
+        raiz = null;
+        raizDesatualizada = true;
+    }
+
+    // -------------------------
+    // Operações baseadas em junção (join)
+    // -------------------------
+
+    /**
+     * Constrói a árvore em paralelo: cada bloco de palavras vira uma AVL parcial
+     * em uma tarefa de fork/join, e as árvores parciais são unidas duas a duas
+     * (também em paralelo), somando as frequências das palavras em comum.
+     * Os contadores somam os de todas as árvores parciais e os das uniões
+     * (comparações das divisões, frequências combinadas e rotações das
+     * junções), para que o custo seja comparável ao de buildWithStats.
+     * 
+     * @param palavras Array de palavras a serem inseridas
+     * @return Estatísticas da construção da árvore
+     */
+    public TreeStats buildParallelWithStats(String[] palavras) {
+        resetAnalise();
+        long inicio = System.nanoTime();
+
+        int blocos = ForkJoinPool.getCommonPoolParallelism() * 4; // Folga para balancear a carga
+        int tamanhoBloco = Math.max(TAMANHO_MINIMO_BLOCO, (palavras.length + blocos - 1) / blocos);
+        AVLTree parcial = ForkJoinPool.commonPool()
+                .invoke(new ConstrucaoParalela(palavras, 0, palavras.length, tamanhoBloco));
+        comparacoes = parcial.comparacoes;
+        atribuicoes = parcial.atribuicoes;
+        rotacoes = parcial.rotacoes;
+        unir(parcial, Integer::sum, true); // Inclui o que já estava nesta árvore
+
+        double tempo = (System.nanoTime() - inicio) / 1_000_000.0;
+        convertToNodeStructure();
+        return new TreeStats(comparacoes, atribuicoes, rotacoes, tempo, getAltura());
+    }
+
+    /**
+     * Tarefa do build paralelo: insere um bloco em uma árvore nova ou divide o
+     * intervalo ao meio e une as duas metades
+     */
+    private static final class ConstrucaoParalela extends RecursiveTask<AVLTree> {
+        private static final long serialVersionUID = 1L;
+
+        private final String[] palavras; // Todas as palavras
+        private final int inicio; // Primeira posição desta tarefa
+        private final int fim; // Posição após a última
+        private final int tamanhoBloco; // Blocos até este tamanho são inseridos direto
+
+        ConstrucaoParalela(String[] palavras, int inicio, int fim, int tamanhoBloco) {
+            this.palavras = palavras;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.tamanhoBloco = tamanhoBloco;
+        }
+
+        @Override
+        protected AVLTree compute() {
+            if (fim - inicio <= tamanhoBloco) {
+                AVLTree arvore = new AVLTree();
+                for (int i = inicio; i < fim; i++) {
+                    arvore.inserir(palavras[i], -1);
+                }
+                return arvore;
+            }
+            int meio = (inicio + fim) >>> 1;
+            ConstrucaoParalela esquerda = new ConstrucaoParalela(palavras, inicio, meio, tamanhoBloco);
+            esquerda.fork();
+            AVLTree direita = new ConstrucaoParalela(palavras, meio, fim, tamanhoBloco).compute();
+            AVLTree arvore = esquerda.join();
+
+            arvore.comparacoes += direita.comparacoes;
+            arvore.atribuicoes += direita.atribuicoes;
+            arvore.rotacoes += direita.rotacoes;
+            arvore.unir(direita, Integer::sum, true);
+            return arvore;
+        }
+    }
+
+    /**
+     * Constrói uma árvore perfeitamente balanceada a partir de pares já
+     * ordenados e contados (ex.: snapshot.iterator(), avl.range(null, null) ou
+     * o range do vetor), em O(n): o meio de cada intervalo vira a raiz da
+     * subárvore, sem comparações de inserção nem rotações. Alturas, tamanhos e
+     * somas são calculados na volta.
+     * 
+     * @param ordenadas Pares em ordem alfabética, sem repetições
+     * @return Nova árvore com essas palavras e frequências
+     * @throws IllegalArgumentException Se as palavras não vierem em ordem
+     */
+    public static AVLTree fromSorted(Iterator<WordCount> ordenadas) {
+        List<WordCount> lista = WordCount.listaOrdenada(ordenadas);
+        AVLTree arvore = new AVLTree();
+        arvore.raizAVL = construirBalanceada(lista, 0, lista.size());
+        arvore.estruturaAlterada();
+        return arvore;
+    }
+
+    /**
+     * Constrói a subárvore com os pares do intervalo [inicio, fim). As metades
+     * diferem em no máximo um nó, então as alturas dos filhos diferem em no
+     * máximo 1.
+     */
+    private static AVLNode construirBalanceada(List<WordCount> lista, int inicio, int fim) {
+        if (inicio >= fim) {
+            return null;
+        }
+        int meio = (inicio + fim) >>> 1;
+        WordCount wc = lista.get(meio);
+        AVLNode node = new AVLNode(wc.getPalavra(), -1);
+        node.frequencia = wc.getFrequencia();
+        node.esquerda = construirBalanceada(lista, inicio, meio);
+        node.direita = construirBalanceada(lista, meio + 1, fim);
+        atualizar(node);
+        return node;
+    }
+
+    /**
+     * Une outra árvore a esta. As palavras presentes nas duas ficam com a
+     * frequência dada pelo combinador. A outra árvore fica vazia (seus nós
+     * passam a fazer parte desta).
+     * Para árvores de tamanhos m <= n, custa O(m log(n/m + 1)).
+     * 
+     * @param outra       Árvore a ser absorvida
+     * @param combinador  Recebe (frequência nesta árvore, frequência na outra)
+     *                    e devolve a frequência da união (ex.: Integer::sum)
+     */
+    public void union(AVLTree outra, IntBinaryOperator combinador) {
+        unir(outra, combinador, false);
+    }
+
+    /**
+     * Como union, mas as duas metades de cada passo da união (menores e
+     * maiores que a raiz da outra árvore) são unidas em paralelo, com
+     * fork/join. A profundidade do trabalho é polilogarítmica.
+     * 
+     * @param outra      Árvore a ser absorvida
+     * @param combinador Recebe (frequência nesta árvore, frequência na outra)
+     */
+    public void parallelUnion(AVLTree outra, IntBinaryOperator combinador) {
+        unir(outra, combinador, true);
+    }
+
+    private void unir(AVLTree outra, IntBinaryOperator combinador, boolean paralela) {
+        if (outra == this) {
+            throw new IllegalArgumentException("Uma árvore não pode ser unida a ela mesma");
+        }
+        int[] ranks = ranksEmComum(outra);
+        Uniao uniao = new Uniao(raizAVL, outra.raizAVL, combinador, paralela);
+        // Dentro de uma tarefa (build paralelo), a união roda no mesmo pool
+        raizAVL = paralela && !ForkJoinTask.inForkJoinPool()
+                ? ForkJoinPool.commonPool().invoke(uniao)
+                : uniao.invoke();
+        comparacoes += uniao.juncao.comparacoes;
+        atribuicoes += uniao.juncao.atribuicoes;
+        rotacoes += uniao.juncao.rotacoes;
+        ranksDasChaves = ranks;
+        outra.esvaziar();
+        estruturaAlterada();
+    }
+
+    /**
+     * Acrescenta ao fim desta árvore outra cujas palavras são todas maiores
+     * que as desta, em O(log n). A outra árvore fica vazia.
+     * 
+     * @param maiores Árvore com as palavras maiores
+     * @throws IllegalArgumentException Se alguma palavra de maiores não for
+     *                                  maior que todas as desta árvore
+     */
+    public void join(AVLTree maiores) {
+        if (maiores == this) {
+            throw new IllegalArgumentException("Uma árvore não pode ser juntada a ela mesma");
+        }
+        if (raizAVL != null && maiores.raizAVL != null) {
+            String ultima = extremo(raizAVL, false).palavra;
+            String primeira = extremo(maiores.raizAVL, true).palavra;
+            if (ultima.compareTo(primeira) >= 0) {
+                throw new IllegalArgumentException("Palavras fora de ordem: " + ultima + ", " + primeira);
+            }
+        }
+        int[] ranks = ranksEmComum(maiores);
+        Juncao juncao = new Juncao();
+        raizAVL = juncao.juntar(raizAVL, maiores.raizAVL);
+        rotacoes += juncao.rotacoes;
+        ranksDasChaves = ranks;
+        maiores.esvaziar();
+        estruturaAlterada();
+    }
+
+    /**
+     * Divide a árvore em O(log n): esta fica com as palavras menores que a
+     * palavra dada, e as demais vão para uma árvore nova
+     * 
+     * @param palavra Primeira palavra da parte de cima (não precisa existir)
+     * @return Árvore com as palavras maiores ou iguais à palavra
+     */
+    public AVLTree split(String palavra) {
+        Juncao juncao = new Juncao();
+        Divisao divisao = juncao.dividir(raizAVL, palavra);
+        AVLTree maiores = new AVLTree();
+        maiores.raizAVL = divisao.igual == null
+                ? divisao.maiores
+                : juncao.juntar(null, divisao.igual, divisao.maiores);
+        raizAVL = divisao.menores;
+        maiores.ranksDasChaves = ranksDasChaves;
+        comparacoes += juncao.comparacoes;
+        rotacoes += juncao.rotacoes;
+        estruturaAlterada();
+        maiores.estruturaAlterada();
+        return maiores;
+    }
+
+    private void esvaziar() {
+        raizAVL = null;
+        ranksDasChaves = null;
+        estruturaAlterada();
+    }
+
+    /**
+     * Vetor de ranks da árvore que junta esta com outra. Chaves de construções
+     * por IDs só podem conviver se vieram do mesmo vetor de ranks.
+     * 
+     * @param outra Árvore a ser absorvida
+     * @return Vetor de ranks do resultado (null se nenhuma tem chaves)
+     * @throws IllegalArgumentException Se as duas têm chaves de ranks diferentes
+     */
+    private int[] ranksEmComum(AVLTree outra) {
+        if (ranksDasChaves != null && outra.ranksDasChaves != null && ranksDasChaves != outra.ranksDasChaves) {
+            throw new IllegalArgumentException("Árvores construídas por IDs com tabelas (ou ranks) diferentes");
+        }
+        return ranksDasChaves != null ? ranksDasChaves : outra.ranksDasChaves;
+    }
+
+    /**
+     * @param primeiro true para o menor nó, false para o maior
+     */
+    private static AVLNode extremo(AVLNode node, boolean primeiro) {
+        AVLNode proximo = primeiro ? node.esquerda : node.direita;
+        while (proximo != null) {
+            node = proximo;
+            proximo = primeiro ? node.esquerda : node.direita;
+        }
+        return node;
+    }
+
+    /**
+     * Resultado de uma divisão: subárvores com as palavras menores e maiores,
+     * e o nó da própria palavra (null se ela não estava na árvore)
+     */
+    private static final class Divisao {
+        AVLNode menores;
+        AVLNode igual;
+        AVLNode maiores;
+    }
+
+    /**
+     * Junções e divisões sobre os nós. São destrutivas (os nós são religados,
+     * não copiados) e têm contadores próprios, para que tarefas paralelas não
+     * compartilhem estado.
+     */
+    private static class Juncao {
+        int comparacoes; // Comparações feitas nas divisões
+        int atribuicoes; // Frequências combinadas nas uniões
+        int rotacoes; // Rotações feitas nas junções
+
+        /**
+         * Junta duas subárvores com um nó do meio (menores < meio < maiores).
+         * Desce pela borda da mais alta até uma subárvore da altura da outra,
+         * liga ali e rebalanceia na volta: O(|diferença de alturas| + 1).
+         */
+        AVLNode juntar(AVLNode menores, AVLNode meio, AVLNode maiores) {
+            int alturaMenores = getHeight(menores);
+            int alturaMaiores = getHeight(maiores);
+            if (alturaMenores > alturaMaiores + 1) {
+                return juntarDireita(menores, meio, maiores);
+            }
+            if (alturaMaiores > alturaMenores + 1) {
+                return juntarEsquerda(menores, meio, maiores);
+            }
+            return ligar(menores, meio, maiores);
+        }
+
+        /**
+         * Junta duas subárvores sem nó do meio: o maior nó de menores é
+         * retirado e usado como meio
+         */
+        AVLNode juntar(AVLNode menores, AVLNode maiores) {
+            if (menores == null) {
+                return maiores;
+            }
+            Divisao divisao = separarUltimo(menores);
+            return juntar(divisao.menores, divisao.igual, maiores);
+        }
+
+        private AVLNode juntarDireita(AVLNode menores, AVLNode meio, AVLNode maiores) {
+            AVLNode esquerda = menores.esquerda;
+            AVLNode centro = menores.direita;
+            if (getHeight(centro) <= getHeight(maiores) + 1) {
+                AVLNode t = ligar(centro, meio, maiores);
+                if (getHeight(t) <= getHeight(esquerda) + 1) {
+                    return ligar(esquerda, menores, t);
+                }
+                rotacoes += 2; // Rotação dupla
+                return rotateLeft(ligar(esquerda, menores, rotateRight(t)));
+            }
+            AVLNode t = juntarDireita(centro, meio, maiores);
+            AVLNode novo = ligar(esquerda, menores, t);
+            if (getHeight(t) <= getHeight(esquerda) + 1) {
+                return novo;
+            }
+            rotacoes++;
+            return rotateLeft(novo);
+        }
+
+        private AVLNode juntarEsquerda(AVLNode menores, AVLNode meio, AVLNode maiores) {
+            AVLNode centro = maiores.esquerda;
+            AVLNode direita = maiores.direita;
+            if (getHeight(centro) <= getHeight(menores) + 1) {
+                AVLNode t = ligar(menores, meio, centro);
+                if (getHeight(t) <= getHeight(direita) + 1) {
+                    return ligar(t, maiores, direita);
+                }
+                rotacoes += 2; // Rotação dupla
+                return rotateRight(ligar(rotateLeft(t), maiores, direita));
+            }
+            AVLNode t = juntarEsquerda(menores, meio, centro);
+            AVLNode novo = ligar(t, maiores, direita);
+            if (getHeight(t) <= getHeight(direita) + 1) {
+                return novo;
+            }
+            rotacoes++;
+            return rotateRight(novo);
+        }
+
+        /**
+         * Divide a subárvore pela palavra, em O(h)
+         */
+        Divisao dividir(AVLNode node, String palavra) {
+            if (node == null) {
+                return new Divisao();
+            }
+            AVLNode esquerda = node.esquerda;
+            AVLNode direita = node.direita;
+            comparacoes++;
+            int cmp = palavra.compareTo(node.palavra);
+            if (cmp == 0) {
+                Divisao divisao = new Divisao();
+                divisao.menores = esquerda;
+                divisao.igual = ligar(null, node, null);
+                divisao.maiores = direita;
+                return divisao;
+            }
+            if (cmp < 0) {
+                Divisao divisao = dividir(esquerda, palavra);
+                divisao.maiores = juntar(divisao.maiores, node, direita);
+                return divisao;
+            }
+            Divisao divisao = dividir(direita, palavra);
+            divisao.menores = juntar(esquerda, node, divisao.menores);
+            return divisao;
+        }
+
+        /**
+         * Retira o maior nó da subárvore (em igual); o restante fica em menores
+         */
+        private Divisao separarUltimo(AVLNode node) {
+            if (node.direita == null) {
+                Divisao divisao = new Divisao();
+                divisao.menores = node.esquerda;
+                divisao.igual = ligar(null, node, null);
+                return divisao;
+            }
+            Divisao divisao = separarUltimo(node.direita);
+            divisao.menores = juntar(node.esquerda, node, divisao.menores);
+            return divisao;
+        }
+
+        private static AVLNode ligar(AVLNode esquerda, AVLNode node, AVLNode direita) {
+            node.esquerda = esquerda;
+            node.direita = direita;
+            atualizar(node);
+            return node;
+        }
+    }
+
+    /**
+     * Tarefa de união: divide esta árvore pela raiz da outra, une as metades
+     * menores e as maiores (em paralelo, se a subárvore for grande) e junta as
+     * duas com a raiz da outra no meio
+     */
+    private static final class Uniao extends RecursiveTask<AVLNode> {
+        private static final long serialVersionUID = 1L;
+
+        private final AVLNode a; // Subárvore desta árvore
+        private final AVLNode b; // Subárvore da outra árvore
+        private final IntBinaryOperator combinador; // Frequência das palavras em comum
+        private final boolean paralela; // Cria tarefas para subárvores grandes
+        final Juncao juncao = new Juncao(); // Contadores desta tarefa e das filhas
+
+        Uniao(AVLNode a, AVLNode b, IntBinaryOperator combinador, boolean paralela) {
+            this.a = a;
+            this.b = b;
+            this.combinador = combinador;
+            this.paralela = paralela;
+        }
+
+        @Override
+        protected AVLNode compute() {
+            if (a == null) {
+                return b;
+            }
+            if (b == null) {
+                return a;
+            }
+            boolean dividirTarefa = paralela && getTamanho(a) + getTamanho(b) > LIMIAR_PARALELO;
+            AVLNode esquerdaB = b.esquerda;
+            AVLNode direitaB = b.direita;
+            Divisao divisao = juncao.dividir(a, b.palavra);
+            if (divisao.igual != null) {
+                b.frequencia = combinador.applyAsInt(divisao.igual.frequencia, b.frequencia);
+                juncao.atribuicoes++; // Atribuição da frequência combinada
+            }
+
+            Uniao menores = new Uniao(divisao.menores, esquerdaB, combinador, paralela);
+            Uniao maiores = new Uniao(divisao.maiores, direitaB, combinador, paralela);
+            AVLNode esquerda;
+            AVLNode direita;
+            if (dividirTarefa) {
+                menores.fork();
+                direita = maiores.compute();
+                esquerda = menores.join();
+            } else {
+                esquerda = menores.compute();
+                direita = maiores.compute();
+            }
+            juncao.comparacoes += menores.juncao.comparacoes + maiores.juncao.comparacoes;
+            juncao.atribuicoes += menores.juncao.atribuicoes + maiores.juncao.atribuicoes;
+            juncao.rotacoes += menores.juncao.rotacoes + maiores.juncao.rotacoes;
+            return juncao.juntar(esquerda, b, direita);
+        }
     }
 
     /**
@@ -303,12 +938,219 @@ public class AVLTree {
         }
     }
 
+    /**
+     * @return Número de palavras distintas
+     */
+    public int size() {
+        return getTamanho(raizAVL);
+    }
+
+    /**
+     * @return Soma das frequências (total de ocorrências inseridas)
+     */
+    public long getTotalOcorrencias() {
+        return getSoma(raizAVL);
+    }
+
+    /**
+     * Posição alfabética de uma palavra: quantas palavras distintas vêm antes
+     * dela. A palavra não precisa estar na árvore.
+     * 
+     * @param palavra Palavra procurada
+     * @return Número de palavras menores que a palavra (0 a size())
+     */
+    public int rank(String palavra) {
+        return (int) acumuladoAntes(palavra, false);
+    }
+
+    /**
+     * Palavra em uma posição da ordem alfabética (inverso de rank)
+     * 
+     * @param k Posição, a partir de 0
+     * @return A palavra com exatamente k palavras antes dela
+     * @throws IndexOutOfBoundsException Se k não estiver em [0, size())
+     */
+    public String select(int k) {
+        if (k < 0 || k >= size()) {
+            throw new IndexOutOfBoundsException("Posição " + k + " fora de [0, " + size() + ")");
+        }
+        AVLNode node = raizAVL;
+        while (true) {
+            int antes = getTamanho(node.esquerda);
+            if (k < antes) {
+                node = node.esquerda;
+            } else if (k == antes) {
+                return node.palavra;
+            } else {
+                k -= antes + 1;
+                node = node.direita;
+            }
+        }
+    }
+
+    /**
+     * Número de palavras distintas no intervalo [from, to)
+     * 
+     * @param from Menor palavra incluída (null = sem limite inferior)
+     * @param to   Primeira palavra excluída (null = sem limite superior)
+     * @return Palavras do intervalo (0 se from >= to)
+     */
+    public int countRange(String from, String to) {
+        long antesDoInicio = from == null ? 0 : acumuladoAntes(from, false);
+        return (int) Math.max(0, acumuladoAntes(to, false) - antesDoInicio);
+    }
+
+    /**
+     * Soma das frequências das palavras no intervalo [from, to). Dividida por
+     * getTotalOcorrencias(), com from = null, dá a fração das ocorrências
+     * abaixo de uma palavra (percentil).
+     * 
+     * @param from Menor palavra incluída (null = sem limite inferior)
+     * @param to   Primeira palavra excluída (null = sem limite superior)
+     * @return Ocorrências no intervalo (0 se from >= to)
+     */
+    public long sumFrequencyRange(String from, String to) {
+        long antesDoInicio = from == null ? 0 : acumuladoAntes(from, true);
+        return Math.max(0, acumuladoAntes(to, true) - antesDoInicio);
+    }
+
+    /**
+     * Desce uma única vez até a posição do limite, somando os nós (ou as
+     * frequências) de tudo o que fica à esquerda dele
+     * 
+     * @param limite      Palavra limite (null = depois de todas, como o fim de
+     *                    um intervalo sem limite superior)
+     * @param frequencias true para somar frequências, false para contar nós
+     * @return Total das palavras estritamente menores que o limite
+     */
+    private long acumuladoAntes(String limite, boolean frequencias) {
+        if (limite == null) {
+            return frequencias ? getTotalOcorrencias() : size();
+        }
+        long total = 0;
+        AVLNode node = raizAVL;
+        while (node != null) {
+            int cmp = limite.compareTo(node.palavra);
+            if (cmp <= 0) {
+                if (cmp == 0) {
+                    return total + (frequencias ? getSoma(node.esquerda) : getTamanho(node.esquerda));
+                }
+                node = node.esquerda;
+            } else {
+                // O nó e toda a sua subárvore esquerda vêm antes do limite
+                total += frequencias ? getSoma(node.esquerda) + node.frequencia : getTamanho(node.esquerda) + 1;
+                node = node.direita;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Itera, em ordem alfabética, as palavras do intervalo [from, to) com suas
+     * frequências. A travessia em ordem é podada: só desce nas subárvores que
+     * podem conter palavras do intervalo, com custo O(h + k) para k palavras.
+     * 
+     * @param from Menor palavra incluída (null = sem limite inferior)
+     * @param to   Primeira palavra excluída (null = sem limite superior)
+     * @return Iterador sobre as palavras do intervalo
+     */
+    public Iterator<WordCount> range(String from, String to) {
+        return new RangeIterator(new WordRange(from, to));
+    }
+
+    /**
+     * Itera, em ordem alfabética, as palavras que começam com o prefixo
+     * 
+     * @param p Prefixo procurado
+     * @return Iterador sobre as palavras com o prefixo
+     */
+    public Iterator<WordCount> prefix(String p) {
+        return new RangeIterator(WordRange.prefix(p));
+    }
+
+    /**
+     * Travessia em ordem preguiçosa, com pilha explícita, limitada a um
+     * intervalo. A pilha guarda o caminho até o próximo nó a ser visitado.
+     */
+    private class RangeIterator implements Iterator<WordCount> {
+        private final WordRange intervalo;
+        private final ArrayDeque<AVLNode> pilha = new ArrayDeque<>();
+
+        RangeIterator(WordRange intervalo) {
+            this.intervalo = intervalo;
+            descer(raizAVL);
+        }
+
+        /**
+         * Empilha o caminho mais à esquerda da subárvore, pulando os nós antes
+         * do início do intervalo (e a subárvore esquerda deles)
+         */
+        private void descer(AVLNode node) {
+            while (node != null) {
+                if (intervalo.depoisDoInicio(node.palavra)) {
+                    pilha.push(node);
+                    node = node.esquerda;
+                } else {
+                    node = node.direita;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pilha.isEmpty() && intervalo.antesDoFim(pilha.peek().palavra);
+        }
+
+        @Override
+        public WordCount next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            AVLNode node = pilha.pop();
+            descer(node.direita);
+            return new WordCount(node.palavra, node.frequencia);
+        }
+    }
+
+    /**
+     * Obtém as k palavras mais frequentes em uma única travessia, com um heap
+     * limitado a k elementos (sem formatar nem ordenar o vocabulário inteiro)
+     * 
+     * @param k Número de palavras desejadas
+     * @return Palavras da maior para a menor frequência (empates em ordem
+     *         alfabética)
+     */
+    public List<WordCount> topK(int k) {
+        TopKHeap heap = new TopKHeap(k);
+        if (k > 0) {
+            coletarTopK(raizAVL, heap);
+        }
+        return heap.toList();
+    }
+
+    /**
+     * Oferece cada nó da subárvore ao heap
+     * 
+     * @param node Nó atual
+     * @param heap Heap das k melhores palavras
+     */
+    private void coletarTopK(AVLNode node, TopKHeap heap) {
+        if (node != null) {
+            heap.offer(node.palavra, node.frequencia);
+            coletarTopK(node.esquerda, heap);
+            coletarTopK(node.direita, heap);
+        }
+    }
+
     /**
      * Obtém lista de nós com informações de nível (para GUI)
      * 
      * @return Lista de NodeInfo
      */
     public List<NodeInfo> getNodesWithLevel() {
+        if (raizDesatualizada) {
+            convertToNodeStructure();
+        }
         List<NodeInfo> lista = new ArrayList<>();
         if (raiz != null) {
             preencherListaComNivel(raiz, 0, lista);
@@ -343,6 +1185,9 @@ public class AVLTree {
      * @return Nó raiz
      */
     public Node getRaiz() {
+        if (raizDesatualizada) {
+            convertToNodeStructure();
+        }
         return raiz;
     }
 }
\ No newline at end of file
@@ -0,0 +1,443 @@
+// src/arvore/ArrayTree.java
+
+package arvore;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import tokenizer.SymbolTable;
+
+/**
+ * Árvore de busca (BST simples ou AVL) com os nós guardados em vetores
+ * paralelos de tipos primitivos (struct-of-arrays)
+ * O nó i é formado por palavras[i], chaves[i], esquerda[i], direita[i],
+ * frequencias[i] e, na AVL, alturas[i]. Os filhos são índices (SEM_NO = -1)
+ * em vez de referências: não há um objeto por nó para o coletor de lixo
+ * percorrer, e os campos de nós vizinhos ficam contíguos na memória.
+ *
+ * Os algoritmos e os contadores são os mesmos de BSTree e AVLTree, então as
+ * estatísticas das duas versões podem ser comparadas diretamente. A estrutura
+ * Node usada pela GUI só é montada quando pedida (getNodesWithLevel/getRaiz).
+ */
+public class ArrayTree {
+    private static final int SEM_NO = -1; // Índice de filho ausente
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    private final boolean balanceada; // true = AVL, false = BST simples
+
+    private String[] palavras; // Palavra de cada nó
+    private int[] chaves; // Rank alfabético de cada nó (modo IDs) ou -1
+    private int[] ranksDasChaves; // Vetor de ranks que gerou as chaves guardadas (null = nenhuma)
+    private int[] esquerda; // Índice do filho esquerdo
+    private int[] direita; // Índice do filho direito
+    private int[] frequencias; // Frequência de cada nó
+    private byte[] alturas; // Altura de cada nó (somente AVL; cabe em um byte)
+    private int tamanho; // Nós usados
+    private int raizIdx = SEM_NO; // Índice da raiz
+    private int alturaBST; // Altura da BST, mantida a cada inserção
+
+    private int[] caminho = new int[64]; // Nós visitados na última descida (reaproveitado)
+    private Node raiz; // Cópia para a GUI (montada sob demanda)
+
+    private int comparacoes = 0; // Contador de comparações realizadas
+    private int atribuicoes = 0; // Contador de atribuições realizadas
+    private int rotacoes = 0; // Contador de rotações realizadas
+
+    /**
+     * @param balanceada true para AVL, false para BST simples
+     */
+    public ArrayTree(boolean balanceada) {
+        this.balanceada = balanceada;
+        this.palavras = new String[CAPACIDADE_INICIAL];
+        this.chaves = new int[CAPACIDADE_INICIAL];
+        this.esquerda = new int[CAPACIDADE_INICIAL];
+        this.direita = new int[CAPACIDADE_INICIAL];
+        this.frequencias = new int[CAPACIDADE_INICIAL];
+        this.alturas = balanceada ? new byte[CAPACIDADE_INICIAL] : null;
+    }
+
+    /**
+     * Insere uma palavra (ou incrementa sua frequência)
+     *
+     * @param palavra Palavra a ser inserida
+     */
+    public void insert(String palavra) {
+        inserir(palavra, -1);
+    }
+
+    /**
+     * Inserção iterativa: descida guardando o caminho e, na AVL, subida
+     * atualizando alturas até a primeira que não mudar ou até uma rotação
+     *
+     * @param palavra Palavra a ser inserida
+     * @param chave   Rank alfabético da palavra (ou -1 para comparar Strings)
+     */
+    private void inserir(String palavra, int chave) {
+        raiz = null; // A cópia da GUI fica desatualizada
+
+        int profundidade = 0;
+        int cmp = 0;
+        int node = raizIdx;
+        while (node != SEM_NO) {
+            comparacoes++;
+            cmp = comparar(palavra, chave, node);
+            if (cmp == 0) {
+                // Palavra já existe - incrementa frequência
+                atribuicoes++;
+                frequencias[node]++;
+                return;
+            }
+            if (profundidade == caminho.length) {
+                caminho = Arrays.copyOf(caminho, profundidade * 2);
+            }
+            caminho[profundidade++] = node;
+            node = cmp < 0 ? esquerda[node] : direita[node];
+        }
+
+        atribuicoes++; // Conta a criação de novo nó
+        int novo = novoNo(palavra, chave);
+        alturaBST = Math.max(alturaBST, profundidade + 1);
+        if (profundidade == 0) {
+            raizIdx = novo;
+            return;
+        }
+        int pai = caminho[profundidade - 1];
+        if (cmp < 0) {
+            esquerda[pai] = novo;
+        } else {
+            direita[pai] = novo;
+        }
+        if (!balanceada) {
+            return;
+        }
+
+        for (int i = profundidade - 1; i >= 0; i--) {
+            node = caminho[i];
+            int alturaAntiga = alturas[node];
+            atualizarAltura(node);
+
+            int balance = getBalance(node);
+            if (balance > 1 || balance < -1) {
+                int novaRaiz = rebalancear(node, balance);
+                if (i == 0) {
+                    raizIdx = novaRaiz;
+                } else if (esquerda[caminho[i - 1]] == node) {
+                    esquerda[caminho[i - 1]] = novaRaiz;
+                } else {
+                    direita[caminho[i - 1]] = novaRaiz;
+                }
+                break;
+            }
+            if (alturas[node] == alturaAntiga) {
+                break; // Altura não mudou: os ancestrais continuam iguais
+            }
+        }
+    }
+
+    /**
+     * Ocupa a próxima posição dos vetores com um nó folha
+     *
+     * @return Índice do novo nó
+     */
+    private int novoNo(String palavra, int chave) {
+        if (tamanho == palavras.length) {
+            // Crescimento geométrico: custo de cópia amortizado O(1) por nó
+            int capacidade = tamanho * 2;
+            palavras = Arrays.copyOf(palavras, capacidade);
+            chaves = Arrays.copyOf(chaves, capacidade);
+            esquerda = Arrays.copyOf(esquerda, capacidade);
+            direita = Arrays.copyOf(direita, capacidade);
+            frequencias = Arrays.copyOf(frequencias, capacidade);
+            if (balanceada) {
+                alturas = Arrays.copyOf(alturas, capacidade);
+            }
+        }
+        int i = tamanho++;
+        palavras[i] = palavra;
+        chaves[i] = chave;
+        esquerda[i] = SEM_NO;
+        direita[i] = SEM_NO;
+        frequencias[i] = 1;
+        if (balanceada) {
+            alturas[i] = 1;
+        }
+        return i;
+    }
+
+    /**
+     * Compara a palavra com a de um nó: por inteiros quando ambos têm rank
+     * (modo IDs), senão por compareTo
+     */
+    private int comparar(String palavra, int chave, int node) {
+        if (chave >= 0 && chaves[node] >= 0) {
+            return Integer.compare(chave, chaves[node]);
+        }
+        return palavra.compareTo(palavras[node]);
+    }
+
+    private int getHeight(int node) {
+        return node == SEM_NO ? 0 : alturas[node];
+    }
+
+    private int getBalance(int node) {
+        return node == SEM_NO ? 0 : getHeight(esquerda[node]) - getHeight(direita[node]);
+    }
+
+    private void atualizarAltura(int node) {
+        alturas[node] = (byte) (1 + Math.max(getHeight(esquerda[node]), getHeight(direita[node])));
+    }
+
+    /**
+     * Aplica a rotação adequada a um nó desbalanceado, escolhendo o caso pelo
+     * balanceamento do filho
+     *
+     * @return Índice da nova raiz da subárvore
+     */
+    private int rebalancear(int node, int balance) {
+        if (balance > 1) {
+            if (getBalance(esquerda[node]) >= 0) {
+                rotacoes++;
+                return rotateRight(node);
+            }
+            rotacoes += 2; // Rotação dupla
+            esquerda[node] = rotateLeft(esquerda[node]);
+            return rotateRight(node);
+        }
+        if (getBalance(direita[node]) <= 0) {
+            rotacoes++;
+            return rotateLeft(node);
+        }
+        rotacoes += 2; // Rotação dupla
+        direita[node] = rotateRight(direita[node]);
+        return rotateLeft(node);
+    }
+
+    private int rotateRight(int y) {
+        int x = esquerda[y];
+        esquerda[y] = direita[x];
+        direita[x] = y;
+        atualizarAltura(y);
+        atualizarAltura(x);
+        return x;
+    }
+
+    private int rotateLeft(int x) {
+        int y = direita[x];
+        direita[x] = esquerda[y];
+        esquerda[y] = x;
+        atualizarAltura(x);
+        atualizarAltura(y);
+        return y;
+    }
+
+    /**
+     * Constrói a árvore a partir de um array de palavras e retorna estatísticas
+     *
+     * @param palavras Array de palavras a serem inseridas
+     * @return Estatísticas da construção da árvore
+     */
+    public TreeStats buildWithStats(String[] palavras) {
+        return buildWithStats(destino -> {
+            for (String palavra : palavras) {
+                destino.accept(palavra);
+            }
+        });
+    }
+
+    /**
+     * Constrói a árvore a partir de um produtor de palavras
+     *
+     * @param produtor Recebe o destino das palavras e entrega cada uma a ele
+     * @return Estatísticas da construção da árvore
+     */
+    public TreeStats buildWithStats(Consumer<Consumer<String>> produtor) {
+        return construir(() -> produtor.accept(this::insert));
+    }
+
+    /**
+     * Constrói a árvore a partir de IDs de palavras, comparando ranks inteiros.
+     * Como em BSTree, as construções por IDs devem usar a mesma tabela, sem
+     * palavras novas entre elas.
+     *
+     * @param ids    IDs das palavras, na ordem de inserção
+     * @param tabela Tabela que gerou os IDs
+     * @return Estatísticas da construção da árvore
+     * @throws IllegalArgumentException Se a tabela (ou seu vetor de ranks) não
+     *                                  for a da construção anterior por IDs
+     */
+    public TreeStats buildWithStats(int[] ids, SymbolTable tabela) {
+        int[] ranks = tabela.ranks();
+        if (ranksDasChaves != null && ranksDasChaves != ranks) {
+            // As chaves já guardadas são posições em outro vetor de ranks
+            throw new IllegalArgumentException(
+                    "Tabela diferente (ou com palavras novas) da usada na construção anterior por IDs");
+        }
+        ranksDasChaves = ranks;
+        return construir(() -> {
+            for (int id : ids) {
+                inserir(tabela.word(id), ranks[id]);
+            }
+        });
+    }
+
+    /**
+     * Executa as inserções medindo tempo e contadores
+     */
+    private TreeStats construir(Runnable insercoes) {
+        resetAnalise();
+        long inicio = System.nanoTime();
+        insercoes.run();
+        long fim = System.nanoTime();
+        double tempo = (fim - inicio) / 1_000_000.0;
+        return new TreeStats(comparacoes, atribuicoes, rotacoes, tempo, getAltura());
+    }
+
+    /**
+     * Retorna lista de frequências para exibição (percurso em ordem iterativo)
+     *
+     * @return Lista de strings no formato "palavra -> frequência"
+     */
+    public List<String> getFrequenciesAsList() {
+        List<String> result = new ArrayList<>(tamanho);
+        int[] pilha = new int[Math.max(1, getAltura())];
+        int topo = 0;
+        int node = raizIdx;
+        while (node != SEM_NO || topo > 0) {
+            while (node != SEM_NO) {
+                pilha[topo++] = node;
+                node = esquerda[node];
+            }
+            node = pilha[--topo];
+            result.add(palavras[node] + " -> " + frequencias[node]);
+            node = direita[node];
+        }
+        return result;
+    }
+
+    /**
+     * Obtém as k palavras mais frequentes: como os nós estão em vetores, basta
+     * uma passada linear, sem percorrer a árvore
+     *
+     * @param k Número de palavras desejadas
+     * @return Palavras da maior para a menor frequência (empates em ordem
+     *         alfabética)
+     */
+    public List<WordCount> topK(int k) {
+        TopKHeap heap = new TopKHeap(k);
+        for (int i = 0; i < tamanho; i++) {
+            heap.offer(palavras[i], frequencias[i]);
+        }
+        return heap.toList();
+    }
+
+    /**
+     * Obtém lista de nós com informações de nível (para GUI)
+     *
+     * @return Lista de NodeInfo em pré-ordem
+     */
+    public List<NodeInfo> getNodesWithLevel() {
+        List<NodeInfo> lista = new ArrayList<>(tamanho);
+        Node r = getRaiz();
+        if (r == null) {
+            return lista;
+        }
+        ArrayDeque<Node> nos = new ArrayDeque<>();
+        ArrayDeque<Integer> niveis = new ArrayDeque<>();
+        nos.push(r);
+        niveis.push(0);
+        while (!nos.isEmpty()) {
+            Node atual = nos.pop();
+            int nivel = niveis.pop();
+            lista.add(new NodeInfo(atual, nivel));
+            for (int i = atual.filhos.size() - 1; i >= 0; i--) {
+                nos.push(atual.filhos.get(i));
+                niveis.push(nivel + 1);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Obtém raiz da árvore no formato Node (para GUI), montando a cópia se a
+     * árvore mudou desde a última chamada
+     *
+     * @return Nó raiz (null se vazia)
+     */
+    public Node getRaiz() {
+        if (raiz == null && raizIdx != SEM_NO) {
+            // Os nós são copiados na ordem dos vetores e depois ligados por índice
+            Node[] convertidos = new Node[tamanho];
+            for (int i = 0; i < tamanho; i++) {
+                Node node = new Node(palavras[i]);
+                node.frequencia = frequencias[i];
+                if (balanceada) {
+                    node.altura = alturas[i];
+                }
+                node.filhos = new ArrayList<>();
+                convertidos[i] = node;
+            }
+            for (int i = 0; i < tamanho; i++) {
+                // Filho esquerdo antes do direito, como em BSTree e AVLTree
+                if (esquerda[i] != SEM_NO) {
+                    convertidos[esquerda[i]].pai = convertidos[i];
+                    convertidos[i].filhos.add(convertidos[esquerda[i]]);
+                }
+                if (direita[i] != SEM_NO) {
+                    convertidos[direita[i]].pai = convertidos[i];
+                    convertidos[i].filhos.add(convertidos[direita[i]]);
+                }
+            }
+            raiz = convertidos[raizIdx];
+        }
+        return raiz;
+    }
+
+    // Métodos de acesso para estatísticas
+
+    public int getComparacoes() {
+        return comparacoes;
+    }
+
+    public int getAtribuicoes() {
+        return atribuicoes;
+    }
+
+    public int getRotacoes() {
+        return rotacoes;
+    }
+
+    /**
+     * @return Número de nós (palavras distintas)
+     */
+    public int size() {
+        return tamanho;
+    }
+
+    /**
+     * Obtém altura da árvore
+     *
+     * @return Altura (0 se vazia)
+     */
+    public int getAltura() {
+        return balanceada ? getHeight(raizIdx) : alturaBST;
+    }
+
+    /**
+     * @return true se for AVL, false se for BST simples
+     */
+    public boolean isBalanceada() {
+        return balanceada;
+    }
+
+    /**
+     * Reseta contadores de análise
+     */
+    public void resetAnalise() {
+        comparacoes = 0;
+        atribuicoes = 0;
+        rotacoes = 0;
+    }
+}
@@ -2,13 +2,24 @@
 
 package arvore;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import tokenizer.SymbolTable;
 
 /**
  * Classe que implementa uma Árvore Binária de Busca (BST) simples
  * Armazena palavras e suas frequências, além de contar comparações e
  * atribuições
+ *
+ * Todas as operações são iterativas (laços e pilhas explícitas): uma entrada
+ * ordenada gera uma árvore degenerada com milhões de níveis, que estouraria a
+ * pilha de chamadas em uma versão recursiva. A altura é mantida a cada
+ * inserção, pela profundidade do novo nó.
  */
 public class BSTree {
 
@@ -21,14 +32,18 @@ public class BSTree {
         int frequencia; // Frequência da palavra
         BSTNode esquerda; // Referência para filho esquerdo
         BSTNode direita; // Referência para filho direito
+        int chave; // Rank alfabético da palavra (modo IDs) ou -1
+        int id = -1; // Id do nó no registro de inserções (-1 = sem registro)
 
         /**
          * Construtor do nó BST
          * 
          * @param palavra Palavra a ser armazenada no nó
+         * @param chave   Rank alfabético da palavra (ou -1 se desconhecido)
          */
-        BSTNode(String palavra) {
+        BSTNode(String palavra, int chave) {
             this.palavra = palavra;
+            this.chave = chave;
             this.frequencia = 1; // Frequência inicializada com 1
             this.esquerda = null; // Inicialmente sem filho esquerdo
             this.direita = null; // Inicialmente sem filho direito
@@ -39,6 +54,19 @@ public class BSTree {
     private Node raiz; // Raiz da árvore (para compatibilidade com GUI)
     private int comparacoes = 0; // Contador de comparações de chaves realizadas
     private int atribuicoes = 0; // Contador de atribuições (inserções e incrementos de frequência)
+    private int altura = 0; // Altura da árvore (profundidade do nó mais fundo)
+    private int tamanho = 0; // Número de nós (palavras distintas)
+    private InsertionTrace trace; // Registro das inserções (null = desligado)
+    private int[] ranksDasChaves; // Vetor de ranks que gerou as chaves guardadas (null = nenhuma)
+
+    /**
+     * Liga o registro das inserções seguintes para reprodução passo a passo
+     * 
+     * @param trace Registro a ser preenchido (null desliga)
+     */
+    public void setTrace(InsertionTrace trace) {
+        this.trace = trace;
+    }
 
     /**
      * Método público para inserção na árvore BST
@@ -46,41 +74,59 @@ public class BSTree {
      * @param palavra Palavra a ser inserida
      */
     public void insertBST(String palavra) {
-        raizBST = insertBSTRec(raizBST, palavra);
+        inserir(palavra, -1);
     }
 
     /**
-     * Método recursivo para inserção na árvore BST
+     * Inserção iterativa: desce da raiz até a posição vazia (ou até a palavra)
+     * guardando o pai, e atualiza a altura pela profundidade do novo nó
      * 
-     * @param node    Nó atual na recursão
      * @param palavra Palavra a ser inserida
-     * @return Novo nó (ou nó atualizado) após inserção
-     */
-    private BSTNode insertBSTRec(BSTNode node, String palavra) {
-        // Caso base: encontrou posição vazia para inserção
-        if (node == null) {
-            atribuicoes++; // Conta a criação de novo nó
-            return new BSTNode(palavra); // Cria e retorna novo nó
-        }
-
-        // Compara a palavra com a palavra do nó atual
-        comparacoes++;
-        int cmp = palavra.compareTo(node.palavra);
-
-        // Decide em qual subárvore inserir com base na comparação
-        if (cmp < 0) {
-            // Insere na subárvore esquerda (palavra menor)
-            node.esquerda = insertBSTRec(node.esquerda, palavra);
-        } else if (cmp > 0) {
-            // Insere na subárvore direita (palavra maior)
-            node.direita = insertBSTRec(node.direita, palavra);
-        } else {
-            // Palavra já existe - incrementa frequência
-            atribuicoes++;
-            node.frequencia++;
+     * @param chave   Rank alfabético da palavra (ou -1 para comparar Strings)
+     */
+    private void inserir(String palavra, int chave) {
+        BSTNode pai = null;
+        BSTNode node = raizBST;
+        int cmp = 0;
+        int profundidade = 1; // Profundidade de node (raiz = 1)
+
+        while (node != null) {
+            // Compara a palavra com a palavra do nó atual (por rank no modo IDs)
+            comparacoes++;
+            cmp = (chave >= 0 && node.chave >= 0)
+                    ? Integer.compare(chave, node.chave)
+                    : palavra.compareTo(node.palavra);
+
+            if (cmp == 0) {
+                // Palavra já existe - incrementa frequência
+                atribuicoes++;
+                node.frequencia++;
+                if (trace != null) {
+                    trace.incrementar(node.id);
+                }
+                return;
+            }
+            // Desce para a subárvore esquerda (palavra menor) ou direita (maior)
+            pai = node;
+            node = cmp < 0 ? node.esquerda : node.direita;
+            profundidade++;
         }
 
-        return node; // Retorna o nó (possivelmente com estrutura modificada)
+        // Encontrou posição vazia para inserção
+        atribuicoes++; // Conta a criação de novo nó
+        tamanho++;
+        BSTNode novo = new BSTNode(palavra, chave);
+        if (trace != null) {
+            novo.id = trace.criar(palavra, pai == null ? -1 : pai.id, cmp < 0);
+        }
+        if (pai == null) {
+            raizBST = novo;
+        } else if (cmp < 0) {
+            pai.esquerda = novo;
+        } else {
+            pai.direita = novo;
+        }
+        altura = Math.max(altura, profundidade);
     }
 
     /**
@@ -90,13 +136,104 @@ public class BSTree {
      * @return Estatísticas da construção da árvore
      */
     public TreeStats buildWithStats(String[] palavras) {
+        return buildWithStats(destino -> {
+            for (String palavra : palavras) {
+                destino.accept(palavra);
+            }
+        });
+    }
+
+    /**
+     * Constrói a árvore a partir de um produtor de palavras (ex.: tokenização em
+     * streaming de um arquivo), sem exigir o vetor completo de tokens em memória.
+     * O tempo medido inclui o trabalho do próprio produtor.
+     * 
+     * @param produtor Recebe o destino das palavras e entrega cada uma a ele
+     * @return Estatísticas da construção da árvore
+     */
+    public TreeStats buildWithStats(Consumer<Consumer<String>> produtor) {
+        return construir(() -> produtor.accept(this::insertBST)); // Insere cada palavra recebida
+    }
+
+    /**
+     * Constrói a árvore a partir de uma sequência de IDs de palavras (tokens
+     * codificados por uma SymbolTable). As comparações passam a ser entre ranks
+     * inteiros e cada nó reaproveita a única String guardada na tabela.
+     * Todas as inserções por ID de uma mesma árvore devem usar a mesma tabela,
+     * sem palavras novas entre uma construção e outra: os ranks mudam quando a
+     * tabela cresce, e as chaves já guardadas deixariam de ser comparáveis.
+     * 
+     * @param ids    IDs das palavras, na ordem de inserção
+     * @param tabela Tabela que gerou os IDs
+     * @return Estatísticas da construção da árvore
+     * @throws IllegalArgumentException Se a tabela (ou seu vetor de ranks) não
+     *                                  for a da construção anterior por IDs
+     */
+    public TreeStats buildWithStats(int[] ids, SymbolTable tabela) {
+        int[] ranks = tabela.ranks();
+        if (ranksDasChaves != null && ranksDasChaves != ranks) {
+            // As chaves já guardadas são posições em outro vetor de ranks
+            throw new IllegalArgumentException(
+                    "Tabela diferente (ou com palavras novas) da usada na construção anterior por IDs");
+        }
+        ranksDasChaves = ranks;
+        return construir(() -> {
+            for (int id : ids) {
+                inserir(tabela.word(id), ranks[id]);
+            }
+        });
+    }
+
+    /**
+     * Constrói uma árvore perfeitamente balanceada a partir de pares já
+     * ordenados e contados (ex.: snapshot.iterator() ou avl.range(null, null)),
+     * em O(n) e sem comparações: o meio de cada intervalo vira a raiz da
+     * subárvore. Evita a árvore degenerada que a inserção em ordem produziria.
+     * 
+     * @param ordenadas Pares em ordem alfabética, sem repetições
+     * @return Nova árvore com essas palavras e frequências
+     * @throws IllegalArgumentException Se as palavras não vierem em ordem
+     */
+    public static BSTree fromSorted(Iterator<WordCount> ordenadas) {
+        List<WordCount> lista = WordCount.listaOrdenada(ordenadas);
+        BSTree arvore = new BSTree();
+        arvore.raizBST = construirBalanceada(lista, 0, lista.size());
+        // Meio inferior em cada intervalo: altura = floor(log2 n) + 1
+        arvore.altura = 32 - Integer.numberOfLeadingZeros(lista.size());
+        arvore.tamanho = lista.size();
+        arvore.convertToNodeStructure();
+        return arvore;
+    }
+
+    /**
+     * Constrói a subárvore com os pares do intervalo [inicio, fim). A
+     * profundidade da recursão é a altura da árvore, O(log n).
+     */
+    private static BSTNode construirBalanceada(List<WordCount> lista, int inicio, int fim) {
+        if (inicio >= fim) {
+            return null;
+        }
+        int meio = (inicio + fim) >>> 1;
+        WordCount wc = lista.get(meio);
+        BSTNode node = new BSTNode(wc.getPalavra(), -1);
+        node.frequencia = wc.getFrequencia();
+        node.esquerda = construirBalanceada(lista, inicio, meio);
+        node.direita = construirBalanceada(lista, meio + 1, fim);
+        return node;
+    }
+
+    /**
+     * Executa as inserções medindo tempo e contadores
+     * 
+     * @param insercoes Inserções a serem realizadas
+     * @return Estatísticas da construção da árvore
+     */
+    private TreeStats construir(Runnable insercoes) {
         resetAnalise(); // Reseta contadores de análise
 
         // Mede tempo de execução
         long inicio = System.nanoTime();
-        for (String palavra : palavras) {
-            insertBST(palavra); // Insere cada palavra
-        }
+        insercoes.run();
         long fim = System.nanoTime();
         double tempoExecucao = (fim - inicio) / 1_000_000.0; // Converte para milissegundos
 
@@ -116,9 +253,9 @@ public class BSTree {
     }
 
     /**
-     * Método recursivo para converter BSTNode para Node
+     * Converte BSTNode para Node em pré-ordem, com pilha explícita
      * 
-     * @param bstNode Nó BST a ser convertido
+     * @param bstNode Raiz da subárvore BST a ser convertida
      * @param parent  Nó pai na nova estrutura
      * @return Nó convertido
      */
@@ -126,25 +263,47 @@ public class BSTree {
         if (bstNode == null)
             return null;
 
-        // Cria novo nó com os mesmos dados
+        Node raizConvertida = copiarNo(bstNode, parent);
+        // Pilhas paralelas: nó a converter e o pai já convertido dele
+        ArrayDeque<BSTNode> pendentes = new ArrayDeque<>();
+        ArrayDeque<Node> pais = new ArrayDeque<>();
+        empilharFilhos(bstNode, raizConvertida, pendentes, pais);
+
+        while (!pendentes.isEmpty()) {
+            BSTNode atual = pendentes.pop();
+            Node pai = pais.pop();
+            Node node = copiarNo(atual, pai);
+            pai.filhos.add(node); // Esquerdo sai da pilha antes: fica primeiro na lista
+            empilharFilhos(atual, node, pendentes, pais);
+        }
+        return raizConvertida;
+    }
+
+    /**
+     * Cria o Node com os mesmos dados do BSTNode
+     */
+    private Node copiarNo(BSTNode bstNode, Node parent) {
         Node node = new Node(bstNode.palavra);
         node.frequencia = bstNode.frequencia;
         node.pai = parent;
         node.filhos = new ArrayList<>();
+        return node;
+    }
 
-        // Converte filhos recursivamente
-        Node leftChild = convertToNode(bstNode.esquerda, node);
-        Node rightChild = convertToNode(bstNode.direita, node);
-
-        // Adiciona filhos à lista (se existirem)
-        if (leftChild != null) {
-            node.filhos.add(leftChild);
+    /**
+     * Empilha os filhos de um nó para conversão: o direito primeiro, para que o
+     * esquerdo seja convertido antes
+     */
+    private void empilharFilhos(BSTNode bstNode, Node convertido, ArrayDeque<BSTNode> pendentes,
+            ArrayDeque<Node> pais) {
+        if (bstNode.direita != null) {
+            pendentes.push(bstNode.direita);
+            pais.push(convertido);
         }
-        if (rightChild != null) {
-            node.filhos.add(rightChild);
+        if (bstNode.esquerda != null) {
+            pendentes.push(bstNode.esquerda);
+            pais.push(convertido);
         }
-
-        return node;
     }
 
     /**
@@ -161,20 +320,14 @@ public class BSTree {
      * @return Altura da árvore
      */
     public int getAltura() {
-        return getAlturaBST(raizBST);
+        return altura; // Mantida a cada inserção
     }
 
     /**
-     * Método recursivo para calcular altura da árvore BST
-     * 
-     * @param node Nó atual
-     * @return Altura da subárvore
+     * @return Número de palavras distintas
      */
-    private int getAlturaBST(BSTNode node) {
-        if (node == null)
-            return 0; // Árvore vazia tem altura 0
-        // Altura é 1 + altura da maior subárvore
-        return 1 + Math.max(getAlturaBST(node.esquerda), getAlturaBST(node.direita));
+    public int size() {
+        return tamanho;
     }
 
     // -------------------------
@@ -199,10 +352,122 @@ public class BSTree {
      * @param result Lista de resultados
      */
     private void inOrderToList(BSTNode node, List<String> result) {
-        if (node != null) {
-            inOrderToList(node.esquerda, result); // Visita subárvore esquerda
+        ArrayDeque<BSTNode> pilha = new ArrayDeque<>();
+        while (node != null || !pilha.isEmpty()) {
+            // Desce pela esquerda guardando o caminho
+            while (node != null) {
+                pilha.push(node);
+                node = node.esquerda;
+            }
+            node = pilha.pop();
             result.add(node.palavra + " -> " + node.frequencia); // Adiciona nó atual
-            inOrderToList(node.direita, result); // Visita subárvore direita
+            node = node.direita; // Visita subárvore direita
+        }
+    }
+
+    /**
+     * Itera, em ordem alfabética, as palavras do intervalo [from, to) com suas
+     * frequências. A travessia em ordem é podada: só desce nas subárvores que
+     * podem conter palavras do intervalo, com custo O(h + k) para k palavras.
+     * 
+     * @param from Menor palavra incluída (null = sem limite inferior)
+     * @param to   Primeira palavra excluída (null = sem limite superior)
+     * @return Iterador sobre as palavras do intervalo
+     */
+    public Iterator<WordCount> range(String from, String to) {
+        return new RangeIterator(new WordRange(from, to));
+    }
+
+    /**
+     * Itera, em ordem alfabética, as palavras que começam com o prefixo
+     * 
+     * @param p Prefixo procurado
+     * @return Iterador sobre as palavras com o prefixo
+     */
+    public Iterator<WordCount> prefix(String p) {
+        return new RangeIterator(WordRange.prefix(p));
+    }
+
+    /**
+     * Travessia em ordem preguiçosa, com pilha explícita, limitada a um
+     * intervalo. A pilha guarda o caminho até o próximo nó a ser visitado.
+     */
+    private class RangeIterator implements Iterator<WordCount> {
+        private final WordRange intervalo;
+        private final ArrayDeque<BSTNode> pilha = new ArrayDeque<>();
+
+        RangeIterator(WordRange intervalo) {
+            this.intervalo = intervalo;
+            descer(raizBST);
+        }
+
+        /**
+         * Empilha o caminho mais à esquerda da subárvore, pulando os nós antes
+         * do início do intervalo (e a subárvore esquerda deles)
+         */
+        private void descer(BSTNode node) {
+            while (node != null) {
+                if (intervalo.depoisDoInicio(node.palavra)) {
+                    pilha.push(node);
+                    node = node.esquerda;
+                } else {
+                    node = node.direita;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pilha.isEmpty() && intervalo.antesDoFim(pilha.peek().palavra);
+        }
+
+        @Override
+        public WordCount next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BSTNode node = pilha.pop();
+            descer(node.direita);
+            return new WordCount(node.palavra, node.frequencia);
+        }
+    }
+
+    /**
+     * Obtém as k palavras mais frequentes em uma única travessia, com um heap
+     * limitado a k elementos (sem formatar nem ordenar o vocabulário inteiro)
+     * 
+     * @param k Número de palavras desejadas
+     * @return Palavras da maior para a menor frequência (empates em ordem
+     *         alfabética)
+     */
+    public List<WordCount> topK(int k) {
+        TopKHeap heap = new TopKHeap(k);
+        if (k > 0) {
+            coletarTopK(raizBST, heap);
+        }
+        return heap.toList();
+    }
+
+    /**
+     * Oferece cada nó da subárvore ao heap
+     * 
+     * @param node Nó atual
+     * @param heap Heap das k melhores palavras
+     */
+    private void coletarTopK(BSTNode node, TopKHeap heap) {
+        ArrayDeque<BSTNode> pilha = new ArrayDeque<>();
+        if (node != null) {
+            pilha.push(node);
+        }
+        while (!pilha.isEmpty()) {
+            BSTNode atual = pilha.pop();
+            heap.offer(atual.palavra, atual.frequencia);
+            if (atual.direita != null) {
+                pilha.push(atual.direita);
+            }
+            if (atual.esquerda != null) {
+                pilha.push(atual.esquerda);
+            }
         }
     }
 
@@ -227,14 +492,21 @@ public class BSTree {
      * @param lista Lista a ser preenchida
      */
     private void preencherListaComNivel(Node node, int nivel, List<NodeInfo> lista) {
-        if (node != null) {
-            NodeInfo nodeInfo = new NodeInfo(node, nivel);
-            lista.add(nodeInfo); // Adiciona nó atual à lista
+        ArrayDeque<Node> nos = new ArrayDeque<>();
+        ArrayDeque<Integer> niveis = new ArrayDeque<>();
+        nos.push(node);
+        niveis.push(nivel);
+
+        while (!nos.isEmpty()) {
+            Node atual = nos.pop();
+            int nivelAtual = niveis.pop();
+            lista.add(new NodeInfo(atual, nivelAtual)); // Adiciona nó atual à lista
 
-            // Processa filhos recursivamente (aumentando o nível)
-            if (node.filhos != null) {
-                for (Node child : node.filhos) {
-                    preencherListaComNivel(child, nivel + 1, lista);
+            // Empilha filhos em ordem inversa para visitá-los na ordem original
+            if (atual.filhos != null) {
+                for (int i = atual.filhos.size() - 1; i >= 0; i--) {
+                    nos.push(atual.filhos.get(i));
+                    niveis.push(nivelAtual + 1);
                 }
             }
         }
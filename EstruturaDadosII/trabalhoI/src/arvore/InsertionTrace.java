@@ -0,0 +1,130 @@
+// src/arvore/InsertionTrace.java
+
+package arvore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Registro compacto de uma construção de BSTree ou AVLTree, para reprodução
+ * passo a passo (ver TraceReplayer)
+ * Cada palavra inserida é um passo, guardado em REGISTRO inteiros de um único
+ * vetor: o evento (nó criado ou frequência incrementada), o nó, a ligação do
+ * novo nó ao pai e a rotação aplicada no passo (LL, RR, LR ou RL em um nó X),
+ * se houver. Os nós são identificados pela ordem de criação (0, 1, 2...), e a
+ * palavra de cada um é guardada uma única vez.
+ *
+ * Uma inserção AVL faz no máximo uma rotação (simples ou dupla), então o
+ * tamanho fixo do registro basta e o passo i é acessado em O(1).
+ */
+public final class InsertionTrace {
+    public static final int CRIAR = 0; // Nó novo ligado ao pai
+    public static final int INCREMENTAR = 1; // Frequência de um nó existente + 1
+
+    public static final int SEM_ROTACAO = 0;
+    public static final int LL = 1; // Rotação simples à direita em X
+    public static final int RR = 2; // Rotação simples à esquerda em X
+    public static final int LR = 3; // Esquerda no filho esquerdo de X, direita em X
+    public static final int RL = 4; // Direita no filho direito de X, esquerda em X
+
+    private static final int REGISTRO = 4; // Inteiros por passo: evento, nó, ligação, rotação
+
+    private int[] eventos = new int[REGISTRO * 64]; // Passos em sequência
+    private int passos = 0; // Passos registrados
+    private final List<String> palavras = new ArrayList<>(); // Palavra de cada nó (por id)
+
+    /**
+     * Registra a criação de um nó (início de um passo)
+     *
+     * @param palavra  Palavra do novo nó
+     * @param pai      Id do pai (-1 se o nó for a raiz)
+     * @param esquerda true se o nó for o filho esquerdo do pai
+     * @return Id do novo nó
+     */
+    int criar(String palavra, int pai, boolean esquerda) {
+        int id = palavras.size();
+        palavras.add(palavra);
+        novoPasso(CRIAR, id, pai < 0 ? -1 : pai * 2 + (esquerda ? 0 : 1));
+        return id;
+    }
+
+    /**
+     * Registra o incremento de frequência de um nó (início de um passo)
+     *
+     * @param id Id do nó
+     */
+    void incrementar(int id) {
+        novoPasso(INCREMENTAR, id, -1);
+    }
+
+    /**
+     * Registra a rotação feita no passo atual
+     *
+     * @param caso LL, RR, LR ou RL
+     * @param id   Id do nó desbalanceado X
+     */
+    void rotacao(int caso, int id) {
+        eventos[(passos - 1) * REGISTRO + 3] = id * 8 + caso;
+    }
+
+    private void novoPasso(int evento, int id, int ligacao) {
+        int base = passos * REGISTRO;
+        if (base == eventos.length) {
+            eventos = Arrays.copyOf(eventos, base * 2);
+        }
+        eventos[base] = evento;
+        eventos[base + 1] = id;
+        eventos[base + 2] = ligacao;
+        eventos[base + 3] = SEM_ROTACAO;
+        passos++;
+    }
+
+    // Leitura dos passos (usada pelo TraceReplayer)
+
+    int evento(int passo) {
+        return eventos[passo * REGISTRO];
+    }
+
+    int no(int passo) {
+        return eventos[passo * REGISTRO + 1];
+    }
+
+    /**
+     * @return Id do pai do nó criado no passo (-1 se for a raiz)
+     */
+    int pai(int passo) {
+        int ligacao = eventos[passo * REGISTRO + 2];
+        return ligacao < 0 ? -1 : ligacao >> 1;
+    }
+
+    boolean filhoEsquerdo(int passo) {
+        return (eventos[passo * REGISTRO + 2] & 1) == 0;
+    }
+
+    int rotacao(int passo) {
+        return eventos[passo * REGISTRO + 3] & 7;
+    }
+
+    int noRotacao(int passo) {
+        return eventos[passo * REGISTRO + 3] >> 3;
+    }
+
+    String palavra(int id) {
+        return palavras.get(id);
+    }
+
+    /**
+     * @return Número de passos (palavras inseridas)
+     */
+    public int passos() {
+        return passos;
+    }
+
+    /**
+     * @return Número de nós criados (palavras distintas)
+     */
+    public int nos() {
+        return palavras.size();
+    }
+}
@@ -0,0 +1,284 @@
+// src/arvore/PersistentTree.java
+
+package arvore;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Versão persistente (imutável) da BST e da AVL
+ * Cada inserção devolve uma nova versão da árvore e deixa a anterior intacta:
+ * somente os nós do caminho da raiz até a palavra são copiados (path copying),
+ * e todas as subárvores fora do caminho são compartilhadas entre as versões.
+ * Uma inserção custa O(h) tempo e memória (O(log n) na AVL), então guardar
+ * todas as versões de uma sequência de n palavras custa O(n log n).
+ *
+ * Os contadores são acumulados de versão em versão com as mesmas regras de
+ * BSTree e AVLTree, de modo que a versão i tem as estatísticas da construção
+ * com as i primeiras palavras.
+ */
+public final class PersistentTree {
+
+    /**
+     * Nó imutável: a altura é calculada na criação, a partir dos filhos
+     */
+    private static final class No {
+        final String palavra; // Palavra armazenada no nó
+        final int frequencia; // Frequência da palavra nesta versão
+        final No esquerda; // Filho esquerdo
+        final No direita; // Filho direito
+        final int altura; // Altura do nó (folha = 1)
+
+        No(String palavra, int frequencia, No esquerda, No direita) {
+            this.palavra = palavra;
+            this.frequencia = frequencia;
+            this.esquerda = esquerda;
+            this.direita = direita;
+            this.altura = 1 + Math.max(altura(esquerda), altura(direita));
+        }
+    }
+
+    private final boolean balanceada; // true = AVL, false = BST simples
+    private final No raiz; // Raiz desta versão
+    private final int tamanho; // Palavras distintas
+    private final int comparacoes; // Comparações acumuladas até esta versão
+    private final int atribuicoes; // Atribuições acumuladas até esta versão
+    private final int rotacoes; // Rotações acumuladas até esta versão
+    private final long tempoNanos; // Tempo acumulado das inserções
+
+    private PersistentTree(boolean balanceada, No raiz, int tamanho, int comparacoes, int atribuicoes,
+            int rotacoes, long tempoNanos) {
+        this.balanceada = balanceada;
+        this.raiz = raiz;
+        this.tamanho = tamanho;
+        this.comparacoes = comparacoes;
+        this.atribuicoes = atribuicoes;
+        this.rotacoes = rotacoes;
+        this.tempoNanos = tempoNanos;
+    }
+
+    /**
+     * Versão vazia
+     *
+     * @param balanceada true para AVL, false para BST simples
+     * @return Árvore sem palavras
+     */
+    public static PersistentTree empty(boolean balanceada) {
+        return new PersistentTree(balanceada, null, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Insere uma palavra (ou incrementa sua frequência) em uma nova versão
+     *
+     * @param palavra Palavra a ser inserida
+     * @return Nova versão; esta continua inalterada
+     */
+    public PersistentTree insert(String palavra) {
+        long inicio = System.nanoTime();
+        int novasComparacoes = 0;
+        int[] novasRotacoes = { 0 };
+
+        // Descida guardando o caminho (nós e lados)
+        No[] caminho = new No[altura(raiz)];
+        boolean[] foiEsquerda = new boolean[caminho.length];
+        int profundidade = 0;
+        No node = raiz;
+        while (node != null) {
+            novasComparacoes++;
+            int cmp = palavra.compareTo(node.palavra);
+            if (cmp == 0) {
+                break;
+            }
+            caminho[profundidade] = node;
+            foiEsquerda[profundidade++] = cmp < 0;
+            node = cmp < 0 ? node.esquerda : node.direita;
+        }
+
+        boolean nova = node == null;
+        No atual = nova
+                ? new No(palavra, 1, null, null)
+                : new No(node.palavra, node.frequencia + 1, node.esquerda, node.direita);
+
+        // Subida copiando o caminho; na AVL, rebalanceia as cópias
+        for (int i = profundidade - 1; i >= 0; i--) {
+            No pai = caminho[i];
+            atual = foiEsquerda[i]
+                    ? new No(pai.palavra, pai.frequencia, atual, pai.direita)
+                    : new No(pai.palavra, pai.frequencia, pai.esquerda, atual);
+            if (balanceada && nova) {
+                atual = rebalancear(atual, novasRotacoes);
+            }
+        }
+
+        return new PersistentTree(balanceada, atual, tamanho + (nova ? 1 : 0),
+                comparacoes + novasComparacoes, atribuicoes + 1, rotacoes + novasRotacoes[0],
+                tempoNanos + (System.nanoTime() - inicio));
+    }
+
+    /**
+     * Rotação (sobre cópias) se o nó estiver desbalanceado, com o caso
+     * escolhido pelo balanceamento do filho
+     *
+     * @param node     Cópia recém-criada do nó
+     * @param contador Rotações feitas nesta inserção (acumulado em [0])
+     * @return Nova raiz da subárvore
+     */
+    private static No rebalancear(No node, int[] contador) {
+        int balance = altura(node.esquerda) - altura(node.direita);
+        if (balance > 1) {
+            No filho = node.esquerda;
+            if (altura(filho.esquerda) >= altura(filho.direita)) {
+                contador[0]++;
+                return rotateRight(node);
+            }
+            contador[0] += 2; // Rotação dupla
+            return rotateRight(new No(node.palavra, node.frequencia, rotateLeft(filho), node.direita));
+        }
+        if (balance < -1) {
+            No filho = node.direita;
+            if (altura(filho.direita) >= altura(filho.esquerda)) {
+                contador[0]++;
+                return rotateLeft(node);
+            }
+            contador[0] += 2; // Rotação dupla
+            return rotateLeft(new No(node.palavra, node.frequencia, node.esquerda, rotateRight(filho)));
+        }
+        return node;
+    }
+
+    private static No rotateRight(No y) {
+        No x = y.esquerda;
+        return new No(x.palavra, x.frequencia, x.esquerda, new No(y.palavra, y.frequencia, x.direita, y.direita));
+    }
+
+    private static No rotateLeft(No x) {
+        No y = x.direita;
+        return new No(y.palavra, y.frequencia, new No(x.palavra, x.frequencia, x.esquerda, y.esquerda), y.direita);
+    }
+
+    private static int altura(No node) {
+        return node == null ? 0 : node.altura;
+    }
+
+    /**
+     * Obtém a frequência de uma palavra nesta versão
+     *
+     * @param palavra Palavra procurada
+     * @return Frequência (0 se ausente)
+     */
+    public int getFrequency(String palavra) {
+        No node = raiz;
+        while (node != null) {
+            int cmp = palavra.compareTo(node.palavra);
+            if (cmp == 0) {
+                return node.frequencia;
+            }
+            node = cmp < 0 ? node.esquerda : node.direita;
+        }
+        return 0;
+    }
+
+    /**
+     * Estatísticas acumuladas da construção até esta versão
+     *
+     * @return Estatísticas (altura desta versão)
+     */
+    public TreeStats getStats() {
+        return new TreeStats(comparacoes, atribuicoes, rotacoes, tempoNanos / 1_000_000.0, getAltura());
+    }
+
+    /**
+     * Retorna lista de frequências desta versão (percurso em ordem iterativo)
+     *
+     * @return Lista de strings no formato "palavra -> frequência"
+     */
+    public List<String> getFrequenciesAsList() {
+        List<String> result = new ArrayList<>(tamanho);
+        ArrayDeque<No> pilha = new ArrayDeque<>();
+        No node = raiz;
+        while (node != null || !pilha.isEmpty()) {
+            while (node != null) {
+                pilha.push(node);
+                node = node.esquerda;
+            }
+            node = pilha.pop();
+            result.add(node.palavra + " -> " + node.frequencia);
+            node = node.direita;
+        }
+        return result;
+    }
+
+    /**
+     * Obtém lista de nós desta versão com informações de nível (para GUI), em
+     * pré-ordem, no mesmo formato de BSTree e AVLTree
+     *
+     * @return Lista de NodeInfo
+     */
+    public List<NodeInfo> getNodesWithLevel() {
+        List<NodeInfo> lista = new ArrayList<>(tamanho);
+        if (raiz == null) {
+            return lista;
+        }
+        // Pilhas paralelas: nó imutável, pai já convertido e nível
+        ArrayDeque<No> pendentes = new ArrayDeque<>();
+        ArrayDeque<Node> pais = new ArrayDeque<>();
+        ArrayDeque<Integer> niveis = new ArrayDeque<>();
+        Node semPai = new Node(null); // Marca da raiz (ArrayDeque não aceita null)
+        pendentes.push(raiz);
+        pais.push(semPai);
+        niveis.push(0);
+
+        while (!pendentes.isEmpty()) {
+            No atual = pendentes.pop();
+            Node pai = pais.pop();
+            int nivel = niveis.pop();
+
+            Node node = new Node(atual.palavra);
+            node.frequencia = atual.frequencia;
+            if (balanceada) {
+                node.altura = atual.altura; // Como AVLTree (a BST não preenche a altura)
+            }
+            node.filhos = new ArrayList<>();
+            if (pai != semPai) {
+                node.pai = pai;
+                pai.filhos.add(node);
+            }
+            lista.add(new NodeInfo(node, nivel));
+
+            // Direito empilhado primeiro para o esquerdo ser visitado antes
+            if (atual.direita != null) {
+                pendentes.push(atual.direita);
+                pais.push(node);
+                niveis.push(nivel + 1);
+            }
+            if (atual.esquerda != null) {
+                pendentes.push(atual.esquerda);
+                pais.push(node);
+                niveis.push(nivel + 1);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * @return Número de palavras distintas nesta versão
+     */
+    public int size() {
+        return tamanho;
+    }
+
+    /**
+     * @return Altura desta versão (0 se vazia)
+     */
+    public int getAltura() {
+        return altura(raiz);
+    }
+
+    /**
+     * @return true se for AVL, false se for BST simples
+     */
+    public boolean isBalanceada() {
+        return balanceada;
+    }
+}
@@ -0,0 +1,131 @@
+// src/arvore/TopKHeap.java
+
+package arvore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Heap de mínimo limitado a k elementos, usado pelo topK das estruturas
+ * A raiz é sempre o pior dos k melhores vistos até agora (menor frequência;
+ * no empate, a palavra que vem depois na ordem alfabética). Cada oferta custa
+ * O(log k), e uma travessia completa custa O(n log k), sem ordenar o
+ * vocabulário inteiro.
+ *
+ * Os vetores crescem sob demanda até k: um k grande (ex.: Integer.MAX_VALUE,
+ * "todas as palavras") só ocupa o espaço das palavras realmente oferecidas.
+ */
+public class TopKHeap {
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    private final int k; // Número máximo de palavras mantidas
+    private String[] palavras; // Palavras no heap (vetores paralelos)
+    private int[] frequencias; // Frequências correspondentes
+    private int tamanho; // Elementos no heap
+
+    /**
+     * @param k Número máximo de palavras mantidas
+     */
+    public TopKHeap(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k não pode ser negativo: " + k);
+        }
+        this.k = k;
+        this.palavras = new String[Math.min(k, CAPACIDADE_INICIAL)];
+        this.frequencias = new int[palavras.length];
+    }
+
+    /**
+     * Oferece uma palavra ao heap; ela só entra se estiver entre as k melhores
+     * 
+     * @param palavra    Palavra
+     * @param frequencia Frequência da palavra
+     */
+    public void offer(String palavra, int frequencia) {
+        if (tamanho < k) {
+            if (tamanho == palavras.length) {
+                int capacidade = (int) Math.min(k, 2L * tamanho);
+                palavras = Arrays.copyOf(palavras, capacidade);
+                frequencias = Arrays.copyOf(frequencias, capacidade);
+            }
+            palavras[tamanho] = palavra;
+            frequencias[tamanho] = frequencia;
+            subir(tamanho++);
+        } else if (tamanho > 0 && pior(palavras[0], frequencias[0], palavra, frequencia)) {
+            palavras[0] = palavra;
+            frequencias[0] = frequencia;
+            descer(0);
+        }
+    }
+
+    /**
+     * Esvazia o heap e devolve o resultado
+     * 
+     * @return Palavras da maior para a menor frequência (empates em ordem
+     *         alfabética)
+     */
+    public List<WordCount> toList() {
+        WordCount[] resultado = new WordCount[tamanho];
+        // Retirar a raiz repetidamente entrega do pior para o melhor
+        for (int i = tamanho - 1; i >= 0; i--) {
+            resultado[i] = new WordCount(palavras[0], frequencias[0]);
+            tamanho--;
+            palavras[0] = palavras[tamanho];
+            frequencias[0] = frequencias[tamanho];
+            palavras[tamanho] = null;
+            descer(0);
+        }
+        List<WordCount> lista = new ArrayList<>(resultado.length);
+        for (WordCount wc : resultado) {
+            lista.add(wc);
+        }
+        return lista;
+    }
+
+    /**
+     * @return True se (pa, fa) é pior colocado que (pb, fb)
+     */
+    private static boolean pior(String pa, int fa, String pb, int fb) {
+        return fa != fb ? fa < fb : pa.compareTo(pb) > 0;
+    }
+
+    private void subir(int i) {
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            if (!pior(palavras[i], frequencias[i], palavras[pai], frequencias[pai])) {
+                return;
+            }
+            trocar(i, pai);
+            i = pai;
+        }
+    }
+
+    private void descer(int i) {
+        while (true) {
+            int menor = i;
+            int esq = 2 * i + 1;
+            int dir = esq + 1;
+            if (esq < tamanho && pior(palavras[esq], frequencias[esq], palavras[menor], frequencias[menor])) {
+                menor = esq;
+            }
+            if (dir < tamanho && pior(palavras[dir], frequencias[dir], palavras[menor], frequencias[menor])) {
+                menor = dir;
+            }
+            if (menor == i) {
+                return;
+            }
+            trocar(i, menor);
+            i = menor;
+        }
+    }
+
+    private void trocar(int a, int b) {
+        String p = palavras[a];
+        palavras[a] = palavras[b];
+        palavras[b] = p;
+        int f = frequencias[a];
+        frequencias[a] = frequencias[b];
+        frequencias[b] = f;
+    }
+}
@@ -0,0 +1,241 @@
+// src/arvore/TraceReplayer.java
+
+package arvore;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reprodução de um InsertionTrace sobre uma única árvore mutável
+ * A árvore é guardada em vetores indexados pelo id do nó (filhos, pai e
+ * frequência). Avançar aplica os eventos do próximo passo; voltar desfaz os do
+ * passo atual na ordem inversa (primeiro a rotação, depois a criação ou o
+ * incremento). Cada passo custa O(1): nenhuma comparação de palavras, no
+ * máximo duas rotações.
+ */
+public final class TraceReplayer {
+    private final InsertionTrace trace; // Registro reproduzido
+    private final int[] esquerda; // Filho esquerdo de cada nó (-1 = nenhum)
+    private final int[] direita; // Filho direito de cada nó (-1 = nenhum)
+    private final int[] pai; // Pai de cada nó (-1 = raiz ou fora da árvore)
+    private final int[] frequencias; // Frequência de cada nó no passo atual
+    private int raiz = -1; // Raiz no passo atual (-1 = vazia)
+    private int passo = 0; // Passos já aplicados
+
+    /**
+     * @param trace Registro de uma construção completa (árvore inicialmente vazia)
+     */
+    public TraceReplayer(InsertionTrace trace) {
+        this.trace = trace;
+        int n = trace.nos();
+        this.esquerda = new int[n];
+        this.direita = new int[n];
+        this.pai = new int[n];
+        this.frequencias = new int[n];
+        Arrays.fill(esquerda, -1);
+        Arrays.fill(direita, -1);
+        Arrays.fill(pai, -1);
+    }
+
+    /**
+     * Aplica o próximo passo
+     *
+     * @return false se todos os passos já foram aplicados
+     */
+    public boolean avancar() {
+        if (passo == trace.passos()) {
+            return false;
+        }
+        int id = trace.no(passo);
+        if (trace.evento(passo) == InsertionTrace.INCREMENTAR) {
+            frequencias[id]++;
+        } else {
+            frequencias[id] = 1;
+            int p = trace.pai(passo);
+            pai[id] = p;
+            if (p < 0) {
+                raiz = id;
+            } else if (trace.filhoEsquerdo(passo)) {
+                esquerda[p] = id;
+            } else {
+                direita[p] = id;
+            }
+        }
+
+        int x = trace.noRotacao(passo);
+        switch (trace.rotacao(passo)) {
+            case InsertionTrace.LL -> rotateRight(x);
+            case InsertionTrace.RR -> rotateLeft(x);
+            case InsertionTrace.LR -> {
+                rotateLeft(esquerda[x]);
+                rotateRight(x);
+            }
+            case InsertionTrace.RL -> {
+                rotateRight(direita[x]);
+                rotateLeft(x);
+            }
+            default -> {
+            }
+        }
+        passo++;
+        return true;
+    }
+
+    /**
+     * Desfaz o último passo aplicado
+     *
+     * @return false se a árvore já está no passo 0 (vazia)
+     */
+    public boolean voltar() {
+        if (passo == 0) {
+            return false;
+        }
+        passo--;
+
+        // Depois da rotação, X ficou abaixo da nova raiz da subárvore (seu pai)
+        int x = trace.noRotacao(passo);
+        switch (trace.rotacao(passo)) {
+            case InsertionTrace.LL -> rotateLeft(pai[x]);
+            case InsertionTrace.RR -> rotateRight(pai[x]);
+            case InsertionTrace.LR -> {
+                int c = pai[x];
+                rotateLeft(c);
+                rotateRight(c);
+            }
+            case InsertionTrace.RL -> {
+                int c = pai[x];
+                rotateRight(c);
+                rotateLeft(c);
+            }
+            default -> {
+            }
+        }
+
+        int id = trace.no(passo);
+        if (trace.evento(passo) == InsertionTrace.INCREMENTAR) {
+            frequencias[id]--;
+        } else {
+            // Sem a rotação, o nó criado volta a ser uma folha: basta soltá-lo
+            int p = pai[id];
+            if (p < 0) {
+                raiz = -1;
+            } else if (esquerda[p] == id) {
+                esquerda[p] = -1;
+            } else {
+                direita[p] = -1;
+            }
+            pai[id] = -1;
+            frequencias[id] = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Rotação simples à direita em y, atualizando os ponteiros de pai
+     */
+    private void rotateRight(int y) {
+        int x = esquerda[y];
+        int t2 = direita[x];
+        substituirFilho(pai[y], y, x);
+        direita[x] = y;
+        pai[y] = x;
+        esquerda[y] = t2;
+        if (t2 >= 0) {
+            pai[t2] = y;
+        }
+    }
+
+    /**
+     * Rotação simples à esquerda em x, atualizando os ponteiros de pai
+     */
+    private void rotateLeft(int x) {
+        int y = direita[x];
+        int t2 = esquerda[y];
+        substituirFilho(pai[x], x, y);
+        esquerda[y] = x;
+        pai[x] = y;
+        direita[x] = t2;
+        if (t2 >= 0) {
+            pai[t2] = x;
+        }
+    }
+
+    /**
+     * Coloca novo no lugar de antigo como filho de p (ou como raiz)
+     */
+    private void substituirFilho(int p, int antigo, int novo) {
+        pai[novo] = p;
+        if (p < 0) {
+            raiz = novo;
+        } else if (esquerda[p] == antigo) {
+            esquerda[p] = novo;
+        } else {
+            direita[p] = novo;
+        }
+    }
+
+    /**
+     * @return Passos já aplicados (0 = árvore vazia)
+     */
+    public int getPasso() {
+        return passo;
+    }
+
+    /**
+     * @return Número total de passos do registro
+     */
+    public int getTotalPassos() {
+        return trace.passos();
+    }
+
+    /**
+     * Obtém lista de nós do passo atual com informações de nível (para GUI), em
+     * pré-ordem, no mesmo formato de BSTree e AVLTree
+     *
+     * @return Lista de NodeInfo
+     */
+    public List<NodeInfo> getNodesWithLevel() {
+        List<NodeInfo> lista = new ArrayList<>();
+        if (raiz < 0) {
+            return lista;
+        }
+        // Pilhas paralelas: id do nó, pai já convertido e nível
+        ArrayDeque<Integer> pendentes = new ArrayDeque<>();
+        ArrayDeque<Node> pais = new ArrayDeque<>();
+        ArrayDeque<Integer> niveis = new ArrayDeque<>();
+        Node semPai = new Node(null); // Marca da raiz (ArrayDeque não aceita null)
+        pendentes.push(raiz);
+        pais.push(semPai);
+        niveis.push(0);
+
+        while (!pendentes.isEmpty()) {
+            int atual = pendentes.pop();
+            Node paiConvertido = pais.pop();
+            int nivel = niveis.pop();
+
+            Node node = new Node(trace.palavra(atual));
+            node.frequencia = frequencias[atual];
+            node.filhos = new ArrayList<>();
+            if (paiConvertido != semPai) {
+                node.pai = paiConvertido;
+                paiConvertido.filhos.add(node);
+            }
+            lista.add(new NodeInfo(node, nivel));
+
+            // Direito empilhado primeiro para o esquerdo ser visitado antes
+            if (direita[atual] >= 0) {
+                pendentes.push(direita[atual]);
+                pais.push(node);
+                niveis.push(nivel + 1);
+            }
+            if (esquerda[atual] >= 0) {
+                pendentes.push(esquerda[atual]);
+                pais.push(node);
+                niveis.push(nivel + 1);
+            }
+        }
+        return lista;
+    }
+}
@@ -0,0 +1,56 @@
+// src/arvore/WordCount.java
+
+package arvore;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Par (palavra, frequência) devolvido pelas consultas das estruturas, como o
+ * topK. Não formata nada: a apresentação fica a cargo de quem exibe.
+ */
+public class WordCount {
+    private final String palavra; // Palavra contada
+    private final int frequencia; // Número de ocorrências
+
+    public WordCount(String palavra, int frequencia) {
+        this.palavra = palavra;
+        this.frequencia = frequencia;
+    }
+
+    public String getPalavra() {
+        return palavra;
+    }
+
+    public int getFrequencia() {
+        return frequencia;
+    }
+
+    /**
+     * Lê uma sequência de pares em ordem alfabética estrita (usada pelos
+     * fromSorted das árvores)
+     *
+     * @param ordenadas Pares em ordem alfabética, sem repetições
+     * @return Os mesmos pares, em uma lista
+     * @throws IllegalArgumentException Se as palavras não vierem em ordem
+     */
+    static List<WordCount> listaOrdenada(Iterator<WordCount> ordenadas) {
+        List<WordCount> lista = new ArrayList<>();
+        String anterior = null;
+        while (ordenadas.hasNext()) {
+            WordCount wc = ordenadas.next();
+            if (anterior != null && anterior.compareTo(wc.palavra) >= 0) {
+                throw new IllegalArgumentException("Palavras fora de ordem: " + anterior + ", " + wc.palavra);
+            }
+            lista.add(wc);
+            anterior = wc.palavra;
+        }
+        return lista;
+    }
+
+    @Override
+    public String toString() {
+        return palavra + " -> " + frequencia;
+    }
+}
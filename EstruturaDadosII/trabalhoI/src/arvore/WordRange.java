@@ -0,0 +1,61 @@
+// src/arvore/WordRange.java
+
+package arvore;
+
+/**
+ * Intervalo de palavras [inicio, fim) usado nas consultas por faixa e por
+ * prefixo. Um limite nulo significa "sem limite" naquele lado. A ordem é a
+ * de String.compareTo, a mesma das estruturas.
+ */
+public final class WordRange {
+    private final String inicio; // Menor palavra incluída (null = sem limite)
+    private final String fim; // Primeira palavra excluída (null = sem limite)
+
+    /**
+     * @param inicio Menor palavra incluída (null = sem limite inferior)
+     * @param fim    Primeira palavra excluída (null = sem limite superior)
+     */
+    public WordRange(String inicio, String fim) {
+        this.inicio = inicio;
+        this.fim = fim;
+    }
+
+    /**
+     * Intervalo com todas as palavras que começam com o prefixo. O fim é o
+     * prefixo com o último caractere incrementado (descartando os caracteres
+     * que já são o máximo), ou nulo se não existir.
+     * 
+     * @param prefixo Prefixo procurado
+     * @return Intervalo [prefixo, próximo prefixo)
+     */
+    public static WordRange prefix(String prefixo) {
+        int n = prefixo.length();
+        while (n > 0 && prefixo.charAt(n - 1) == Character.MAX_VALUE) {
+            n--;
+        }
+        String fim = n == 0 ? null : prefixo.substring(0, n - 1) + (char) (prefixo.charAt(n - 1) + 1);
+        return new WordRange(prefixo, fim);
+    }
+
+    /**
+     * @return True se a palavra não está antes do início
+     */
+    public boolean depoisDoInicio(String palavra) {
+        return inicio == null || palavra.compareTo(inicio) >= 0;
+    }
+
+    /**
+     * @return True se a palavra está antes do fim
+     */
+    public boolean antesDoFim(String palavra) {
+        return fim == null || palavra.compareTo(fim) < 0;
+    }
+
+    public String getInicio() {
+        return inicio;
+    }
+
+    public String getFim() {
+        return fim;
+    }
+}
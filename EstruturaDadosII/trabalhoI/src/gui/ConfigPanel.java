@@ -8,6 +8,8 @@ import java.awt.*;
 import java.awt.event.ActionListener;
 import java.awt.event.ItemEvent;
 
+import vetor.VectorStrategy;
+
 /**
  * PAINEL DE CONFIGURAÇÕES
  *
@@ -15,6 +17,10 @@ import java.awt.event.ItemEvent;
  * 1. Escolher qual estrutura usar para mostrar as frequências
  * 2. Iniciar a análise do texto
  * 3. Configurar modo passo a passo (para árvores)
+ * 4. Escolher se a análise roda em pipeline (leitura, tokenização e contagem
+ * em threads separadas)
+ * 5. Escolher a estratégia de construção do vetor (inserção ordenada, buffer
+ * com merge ou ordenar e contar) e se ele usa o índice de prefixos
  *
  * É como o "painel de controle" da nossa aplicação.
  */
@@ -24,6 +30,9 @@ public class ConfigPanel extends JPanel {
     private JComboBox<String> structureComboBox; // Lista suspensa para escolher estrutura
     private JButton analyzeButton; // Botão para iniciar análise
     private JLabel instructionLabel; // Label com instruções
+    private JCheckBox pipelineCheckBox; // Checkbox para análise em pipeline
+    private JComboBox<VectorStrategy> vectorStrategyComboBox; // Estratégia de construção do vetor
+    private JCheckBox prefixIndexCheckBox; // Checkbox para o índice de prefixos do vetor
 
     // Componentes para modo passo a passo
     private JCheckBox stepByStepCheckBox; // Checkbox para ativar modo passo a passo
@@ -34,6 +43,7 @@ public class ConfigPanel extends JPanel {
     private JButton playButton; // Botão play
     private JButton pauseButton; // Botão pause
     private JButton nextButton; // Botão next (próximo passo)
+    private JButton backButton; // Botão back (passo anterior)
     private JButton stopButton; // Botão stop
 
     private JPanel stepPanel; // Painel para opções de passo a passo
@@ -68,10 +78,22 @@ public class ConfigPanel extends JPanel {
         structureComboBox = new JComboBox<>(structures);
         structureComboBox.setSelectedIndex(0); // Selecionar a primeira opção por padrão
 
+        // Estratégia de construção do vetor (só aparece com o vetor selecionado)
+        vectorStrategyComboBox = new JComboBox<>(VectorStrategy.values());
+        vectorStrategyComboBox.setSelectedItem(VectorStrategy.INCREMENTAL);
+        vectorStrategyComboBox.setToolTipText("Como o vetor ordenado de frequências é construído");
+        prefixIndexCheckBox = new JCheckBox("Índice de prefixos");
+        prefixIndexCheckBox.setToolTipText("Restringe cada busca binária às palavras com as mesmas 2 iniciais");
+
         // Botão para iniciar análise
         analyzeButton = new JButton("🚀 Analisar Texto");
         analyzeButton.setEnabled(false); // Inicialmente desabilitado (sem arquivo selecionado)
 
+        // Pipeline: leitura, tokenização e contagem sobrepostas em threads
+        pipelineCheckBox = new JCheckBox("Pipeline (threads)");
+        pipelineCheckBox.setSelected(true);
+        pipelineCheckBox.setToolTipText("Lê, tokeniza e conta ao mesmo tempo, em threads separadas");
+
         // Componentes para modo passo a passo (inicialmente não visíveis)
         stepByStepCheckBox = new JCheckBox("Montar passo a passo");
         // speedLabel = new JLabel("Velocidade (ms):");
@@ -88,12 +110,14 @@ public class ConfigPanel extends JPanel {
         playButton = new JButton("▶ Play");
         pauseButton = new JButton("⏸ Pause");
         nextButton = new JButton("⏭ Next");
+        backButton = new JButton("⏮ Back");
         stopButton = new JButton("⏹ Stop");
 
         // Inicialmente desabilitados
         playButton.setEnabled(false);
         pauseButton.setEnabled(false);
         nextButton.setEnabled(false);
+        backButton.setEnabled(false);
         stopButton.setEnabled(false);
 
         // Painéis para agrupar componentes
@@ -115,6 +139,9 @@ public class ConfigPanel extends JPanel {
         // Adicionar componentes na ordem
         add(instructionLabel);
         add(structureComboBox);
+        add(vectorStrategyComboBox);
+        add(prefixIndexCheckBox);
+        add(pipelineCheckBox);
 
         // Adicionar componentes de passo a passo ao painel
         stepPanel.add(stepByStepCheckBox);
@@ -125,6 +152,7 @@ public class ConfigPanel extends JPanel {
         // Adicionar botões de controle ao painel
         controlPanel.add(playButton);
         controlPanel.add(pauseButton);
+        controlPanel.add(backButton);
         controlPanel.add(nextButton);
         controlPanel.add(stopButton);
         add(controlPanel);
@@ -166,6 +194,8 @@ public class ConfigPanel extends JPanel {
     private void setupInteractions() {
         // Exibir ou ocultar painel de passo-a-passo dependendo da estrutura
         structureComboBox.addItemListener(e -> {
+            vectorStrategyComboBox.setVisible(getSelectedStructureIndex() == 0);
+            prefixIndexCheckBox.setVisible(getSelectedStructureIndex() == 0);
             if (getSelectedStructureIndex() == 0) { // Vetor (não suporta passo a passo)
                 stepPanel.setVisible(false);
                 controlPanel.setVisible(false);
@@ -214,6 +244,10 @@ public class ConfigPanel extends JPanel {
         nextButton.addActionListener(l);
     }
 
+    public void setBackListener(ActionListener l) {
+        backButton.addActionListener(l);
+    }
+
     public void setStopListener(ActionListener l) {
         stopButton.addActionListener(l);
     }
@@ -227,6 +261,7 @@ public class ConfigPanel extends JPanel {
         playButton.setEnabled(enable);
         pauseButton.setEnabled(enable);
         nextButton.setEnabled(enable);
+        backButton.setEnabled(enable);
         stopButton.setEnabled(enable);
     }
 
@@ -255,6 +290,24 @@ public class ConfigPanel extends JPanel {
         return structureComboBox.getSelectedIndex();
     }
 
+    /**
+     * Obtém a estratégia de construção escolhida para o vetor
+     * 
+     * @return Estratégia selecionada
+     */
+    public VectorStrategy getSelectedVectorStrategy() {
+        return (VectorStrategy) vectorStrategyComboBox.getSelectedItem();
+    }
+
+    /**
+     * Verifica se o vetor deve usar o índice de prefixos
+     * 
+     * @return true se habilitado, false caso contrário
+     */
+    public boolean isPrefixIndexEnabled() {
+        return prefixIndexCheckBox.isSelected();
+    }
+
     /**
      * Verifica se modo passo a passo está habilitado
      * 
@@ -264,6 +317,15 @@ public class ConfigPanel extends JPanel {
         return stepByStepCheckBox.isSelected();
     }
 
+    /**
+     * Verifica se a análise deve rodar em pipeline
+     * 
+     * @return true se habilitado, false caso contrário
+     */
+    public boolean isPipelineEnabled() {
+        return pipelineCheckBox.isSelected();
+    }
+
     /**
      * Habilita/desabilita toda a configuração durante análise
      * 
@@ -271,7 +333,10 @@ public class ConfigPanel extends JPanel {
      */
     public void setConfigurationEnabled(boolean enabled) {
         structureComboBox.setEnabled(enabled);
+        vectorStrategyComboBox.setEnabled(enabled);
+        prefixIndexCheckBox.setEnabled(enabled);
         stepByStepCheckBox.setEnabled(enabled);
+        pipelineCheckBox.setEnabled(enabled);
         // speedSlider.setEnabled(enabled && stepByStepCheckBox.isSelected());
         enableControlButtons(false);
 
@@ -4,6 +4,7 @@ package gui;
 
 import arvore.NodeInfo;
 import arvore.TreeStats;
+import arvore.WordCount;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
@@ -202,6 +203,21 @@ public class ResultsPanel extends JPanel {
         addSeparator();
     }
 
+    /**
+     * MOSTRAR PALAVRAS MAIS FREQUENTES
+     */
+    public void showTopWords(List<WordCount> top) {
+        addHeader("Top " + top.size() + " Palavras Mais Frequentes");
+        addResult(String.format("%-5s %-20s %s", "#", "PALAVRA", "FREQUÊNCIA"));
+        addResult("─".repeat(36));
+
+        int posicao = 1;
+        for (WordCount wc : top) {
+            addResult(String.format("%-5d %-20s %5d", posicao++, wc.getPalavra(), wc.getFrequencia()));
+        }
+        addSeparator();
+    }
+
     /**
      * MOSTRAR ÁRVORE
      */
@@ -6,8 +6,12 @@ import javax.swing.*;
 
 import arvore.AVLTree;
 import arvore.BSTree;
+import arvore.InsertionTrace;
 import arvore.NodeInfo;
+import arvore.TraceReplayer;
 import arvore.TreeStats;
+import pipeline.AnalysisPipeline;
+import pipeline.PipelineStats;
 import tokenizer.TextTokenizer;
 import vetor.DynamicWordFrequencyVector;
 
@@ -15,8 +19,8 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
-import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * CLASSE PRINCIPAL DA INTERFACE GRÁFICA
@@ -26,6 +30,7 @@ import java.util.List;
  * e conecta todos os outros componentes da interface.
  */
 public class TextAnalyzerGUI extends JFrame {
+    private static final int TOP_K = 20; // Palavras no ranking das mais frequentes
 
     // ====== COMPONENTES ======
     private FilePanel filePanel;
@@ -35,11 +40,17 @@ public class TextAnalyzerGUI extends JFrame {
 
     // ====== DADOS ======
     private File selectedFile;
+    private final TextTokenizer tokenizer = new TextTokenizer("src/resources/stopwords.txt");
+    private final TokenizationCache tokenizationCache = new TokenizationCache(tokenizer);
 
     // ====== CONTROLE PASSO-A-PASSO ======
     private Timer stepTimer;
     private int currentStep = 0;
     private String[] palavrasStep;
+    private TraceReplayer replay; // Reprodução da construção registrada (uma árvore mutável)
+    private BSTree bstStep; // Árvore construída de uma vez para o modo passo-a-passo (BST)
+    private AVLTree avlStep; // Idem (AVL)
+    private TreeStats statsStep; // Estatísticas dessa construção
     private int totalSteps = 0;
     private int delayMs = 500;
     private int estruturaSelecionada = -1;
@@ -138,8 +149,8 @@ public class TextAnalyzerGUI extends JFrame {
             @Override
             public void onFileSelected(File file) {
                 try {
-                    TextTokenizer tokenizer = new TextTokenizer("src/resources/stopwords.txt");
-                    tokenizer.loadTextFile(file.getAbsolutePath());
+                    // Começa a tokenizar já, em segundo plano; a análise reaproveita o resultado
+                    tokenizationCache.prefetch(file);
                     selectedFile = file;
                     configPanel.setAnalyzeButtonEnabled(true);
                     showMessage("✅ Arquivo selecionado: " + file.getName());
@@ -174,6 +185,7 @@ public class TextAnalyzerGUI extends JFrame {
                 stepTimer.stop();
             runOneStep();
         });
+        configPanel.setBackListener(e -> stepBack());
         configPanel.setStopListener(e -> stopStepByStep());
     }
 
@@ -199,18 +211,39 @@ public class TextAnalyzerGUI extends JFrame {
             @Override
             protected Void doInBackground() {
                 try {
-                    TextTokenizer tokenizer = new TextTokenizer("src/resources/stopwords.txt");
-                    tokenizer.loadTextFile(selectedFile.getAbsolutePath());
-                    String[] palavras = tokenizer.tokenizeToArray(tokenizer.TEXT);
+                    String caminho = selectedFile.getAbsolutePath();
 
                     estruturaSelecionada = configPanel.getSelectedStructureIndex();
                     boolean passoAPasso = configPanel.isStepByStepEnabled();
                     delayMs = 400; // fixo em 400 ms
 
-                    if (!passoAPasso || estruturaSelecionada == 0) {
-                        executarNormal(palavras, estruturaSelecionada);
+                    if (passoAPasso && estruturaSelecionada != 0) {
+                        // Passo a passo precisa de todas as palavras para navegar entre os passos
+                        executarPassoAPasso(tokenizationCache.get(selectedFile));
+                    } else if (configPanel.isPipelineEnabled()) {
+                        // Pipeline escolhido: leitura, tokenização e contagem em threads ligadas
+                        // por filas. Uma tokenização da seleção ainda em andamento é cancelada
+                        // para o arquivo não ser tokenizado duas vezes ao mesmo tempo
+                        tokenizationCache.cancelIfNotReady(selectedFile);
+                        AnalysisPipeline pipeline = new AnalysisPipeline(tokenizer);
+                        executarNormal(pipeline.producer(caminho, true), estruturaSelecionada);
+                        PipelineStats metricas = pipeline.getLastStats();
+                        SwingUtilities.invokeLater(() -> resultsPanel.addResult(metricas.toString()));
+                    } else if (tokenizationCache.contains(selectedFile)) {
+                        // Reaproveita os tokens calculados quando o arquivo foi selecionado
+                        String[] palavras = tokenizationCache.get(selectedFile);
+                        executarNormal(destino -> {
+                            for (String palavra : palavras) {
+                                destino.accept(palavra);
+                            }
+                        }, estruturaSelecionada);
+                        SwingUtilities.invokeLater(() -> resultsPanel
+                                .addResult("📂 Tokens reaproveitados da tokenização feita na seleção do arquivo"));
                     } else {
-                        executarPassoAPasso(palavras);
+                        // Sem entrada no cache (arquivo grande ou alterado): tokens vão direto
+                        // do arquivo para a estrutura (streaming)
+                        executarNormal(destino -> tokenizer.tokenizeFile(caminho, true, destino),
+                                estruturaSelecionada);
                     }
                 } catch (Exception e) {
                     publish("❌ Erro: " + e.getMessage());
@@ -234,15 +267,19 @@ public class TextAnalyzerGUI extends JFrame {
 
     /**
      * EXECUTAR ANÁLISE NORMAL (SEM PASSO-A-PASSO)
+     *
+     * @param palavras Produtor que entrega as palavras à estrutura escolhida
      */
-    private void executarNormal(String[] palavras, int escolha) {
+    private void executarNormal(Consumer<Consumer<String>> palavras, int escolha) {
         if (escolha == 0) {
             // Vetor Dinâmico
-            DynamicWordFrequencyVector vetor = new DynamicWordFrequencyVector();
+            DynamicWordFrequencyVector vetor = new DynamicWordFrequencyVector(configPanel.getSelectedVectorStrategy(),
+                    configPanel.isPrefixIndexEnabled());
             TreeStats stats = vetor.buildWithStats(palavras);
             SwingUtilities.invokeLater(() -> {
-                resultsPanel.addHeader("Resultados - Vetor Dinâmico");
+                resultsPanel.addHeader("Resultados - Vetor Dinâmico (" + vetor.getStrategy() + ")");
                 resultsPanel.showWordFrequencies(vetor.getFrequenciesAsList());
+                resultsPanel.showTopWords(vetor.topK(TOP_K));
                 resultsPanel.showAnalysis(stats, "Vetor Dinâmico");
             });
         } else if (escolha == 1) {
@@ -252,6 +289,7 @@ public class TextAnalyzerGUI extends JFrame {
             SwingUtilities.invokeLater(() -> {
                 resultsPanel.addHeader("Resultados - BST");
                 resultsPanel.showWordFrequencies(bst.getFrequenciesAsList());
+                resultsPanel.showTopWords(bst.topK(TOP_K));
                 resultsPanel.showAnalysis(stats, "BST");
                 resultsPanel.showTree(bst.getNodesWithLevel());
             });
@@ -262,6 +300,7 @@ public class TextAnalyzerGUI extends JFrame {
             SwingUtilities.invokeLater(() -> {
                 resultsPanel.addHeader("Resultados - AVL");
                 resultsPanel.showWordFrequencies(avl.getFrequenciesAsList());
+                resultsPanel.showTopWords(avl.topK(TOP_K));
                 resultsPanel.showAnalysis(stats, "AVL");
                 resultsPanel.showTree(avl.getNodesWithLevel());
             });
@@ -270,12 +309,31 @@ public class TextAnalyzerGUI extends JFrame {
 
     /**
      * EXECUTAR ANÁLISE PASSO-A-PASSO
+     * A árvore é construída uma única vez, em velocidade normal, registrando
+     * cada inserção (nó criado, frequência incrementada, rotação). A animação
+     * apenas reproduz esse registro.
      */
     private void executarPassoAPasso(String[] palavras) {
         palavrasStep = palavras;
         totalSteps = palavras.length;
         currentStep = 0;
 
+        InsertionTrace trace = new InsertionTrace();
+        bstStep = null;
+        avlStep = null;
+        if (estruturaSelecionada == 2) {
+            avlStep = new AVLTree();
+            avlStep.setTrace(trace);
+            statsStep = avlStep.buildWithStats(palavras);
+            avlStep.setTrace(null);
+        } else {
+            bstStep = new BSTree();
+            bstStep.setTrace(trace);
+            statsStep = bstStep.buildWithStats(palavras);
+            bstStep.setTrace(null);
+        }
+        replay = new TraceReplayer(trace);
+
         SwingUtilities.invokeLater(() -> {
             progressBar.setIndeterminate(false);
             progressBar.setMinimum(0);
@@ -290,6 +348,8 @@ public class TextAnalyzerGUI extends JFrame {
 
     /**
      * EXECUTAR UM PASSO DA ANÁLISE
+     * Aplica o próximo passo do registro à árvore exibida (O(1), sem
+     * comparações nem reconstrução)
      */
     private void runOneStep() {
         if (currentStep >= totalSteps) {
@@ -299,54 +359,63 @@ public class TextAnalyzerGUI extends JFrame {
             return;
         }
 
-        currentStep++;
-        String[] prefix = Arrays.copyOfRange(palavrasStep, 0, currentStep);
+        replay.avancar();
+        currentStep = replay.getPasso();
+        mostrarPasso("Inserido");
+    }
 
-        if (estruturaSelecionada == 1) {
-            // BST passo-a-passo
-            BSTree bst = new BSTree();
-            TreeStats stats = bst.buildWithStats(prefix);
-            List<NodeInfo> nodes = bst.getNodesWithLevel();
-            String palavra = prefix[currentStep - 1];
-            SwingUtilities.invokeLater(() -> {
-                resultsPanel.showTree(nodes);
-                resultsPanel.addResult("Inserido (" + currentStep + "/" + totalSteps + "): " + palavra);
-                progressBar.setValue(currentStep);
-                progressBar.setString("Inserindo: " + currentStep + " / " + totalSteps);
-            });
-        } else if (estruturaSelecionada == 2) {
-            // AVL passo-a-passo
-            AVLTree avl = new AVLTree();
-            TreeStats stats = avl.buildWithStats(prefix);
-            List<NodeInfo> nodes = avl.getNodesWithLevel();
-            String palavra = prefix[currentStep - 1];
-            SwingUtilities.invokeLater(() -> {
-                resultsPanel.showTree(nodes);
-                resultsPanel.addResult("Inserido (" + currentStep + "/" + totalSteps + "): " + palavra);
-                progressBar.setValue(currentStep);
-                progressBar.setString("Inserindo: " + currentStep + " / " + totalSteps);
-            });
+    /**
+     * VOLTAR UM PASSO
+     * Desfaz o último passo do registro (O(1))
+     */
+    private void stepBack() {
+        if (stepTimer != null)
+            stepTimer.stop();
+        if (replay == null || currentStep == 0 || currentStep > totalSteps) {
+            return;
         }
+        replay.voltar();
+        currentStep = replay.getPasso();
+        mostrarPasso("Voltou para");
+    }
+
+    /**
+     * EXIBIR A ÁRVORE DO PASSO ATUAL
+     *
+     * @param acao Verbo exibido antes da palavra do passo
+     */
+    private void mostrarPasso(String acao) {
+        List<NodeInfo> nodes = replay.getNodesWithLevel();
+        int passo = currentStep;
+        String palavra = passo > 0 ? palavrasStep[passo - 1] : "(árvore vazia)";
+        SwingUtilities.invokeLater(() -> {
+            resultsPanel.showTree(nodes);
+            resultsPanel.addResult(acao + " (" + passo + "/" + totalSteps + "): " + palavra);
+            progressBar.setValue(passo);
+            progressBar.setString("Inserindo: " + passo + " / " + totalSteps);
+        });
     }
 
     /**
      * MOSTRAR RESULTADOS FINAIS
      */
     private void mostrarResultadosFinais() {
-        if (estruturaSelecionada == 1) {
-            BSTree bst = new BSTree();
-            TreeStats stats = bst.buildWithStats(palavrasStep);
+        // Reaproveita a árvore construída no início do passo-a-passo
+        TreeStats stats = statsStep;
+        if (bstStep != null) {
+            BSTree bst = bstStep;
             SwingUtilities.invokeLater(() -> {
                 resultsPanel.addHeader("Resultados - BST (final)");
                 resultsPanel.showWordFrequencies(bst.getFrequenciesAsList());
+                resultsPanel.showTopWords(bst.topK(TOP_K));
                 resultsPanel.showAnalysis(stats, "BST");
             });
-        } else if (estruturaSelecionada == 2) {
-            AVLTree avl = new AVLTree();
-            TreeStats stats = avl.buildWithStats(palavrasStep);
+        } else if (avlStep != null) {
+            AVLTree avl = avlStep;
             SwingUtilities.invokeLater(() -> {
                 resultsPanel.addHeader("Resultados - AVL (final)");
                 resultsPanel.showWordFrequencies(avl.getFrequenciesAsList());
+                resultsPanel.showTopWords(avl.topK(TOP_K));
                 resultsPanel.showAnalysis(stats, "AVL");
             });
         }
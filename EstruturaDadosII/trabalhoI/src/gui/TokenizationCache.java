@@ -0,0 +1,213 @@
+// src/gui/TokenizationCache.java
+
+package gui;
+
+import tokenizer.ParallelTokenizer;
+import tokenizer.TextTokenizer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * CACHE DA TOKENIZAÇÃO DO ARQUIVO SELECIONADO
+ *
+ * Assim que o usuário escolhe um arquivo, a tokenização começa em segundo
+ * plano. Quando a análise é iniciada, ela reaproveita o resultado em vez de
+ * ler e tokenizar o mesmo arquivo de novo.
+ *
+ * O resultado é identificado por caminho, tamanho e data de modificação: se o
+ * arquivo mudar no disco, a entrada é descartada e a tokenização refeita.
+ *
+ * O custo é guardar um vetor com todos os tokens, que cresce com o tamanho do
+ * arquivo (a análise em streaming só guarda o vocabulário). Por isso só
+ * arquivos de até LIMITE_BYTES entram no cache; os maiores não são
+ * pré-tokenizados e a análise normal os lê direto do disco.
+ *
+ * Descartar uma entrada em andamento cancela a tokenização (ela para na
+ * próxima fatia do arquivo), liberando a thread de fundo para o próximo
+ * arquivo.
+ */
+public class TokenizationCache {
+    public static final long LIMITE_BYTES = 32L * 1024 * 1024; // Maior arquivo mantido em cache
+
+    /**
+     * Identificação do arquivo tokenizado
+     */
+    private record FileKey(Path caminho, long tamanho, long modificado) {
+        static FileKey of(File file) throws IOException {
+            Path caminho = file.toPath().toAbsolutePath().normalize();
+            BasicFileAttributes atributos = Files.readAttributes(caminho, BasicFileAttributes.class);
+            return new FileKey(caminho, atributos.size(), atributos.lastModifiedTime().toMillis());
+        }
+    }
+
+    private final TextTokenizer tokenizer; // Tokenizador (stopwords compartilhadas)
+    private final ExecutorService executor; // Thread de fundo para a tokenização
+
+    private FileKey chave; // Arquivo da entrada atual (null = vazio)
+    private CompletableFuture<String[]> tokens; // Tokens da entrada atual (pode estar em andamento)
+    private AtomicBoolean cancelado; // Sinal de cancelamento da tokenização da entrada atual
+
+    /**
+     * @param tokenizer Tokenizador usado em segundo plano
+     */
+    public TokenizationCache(TextTokenizer tokenizer) {
+        this.tokenizer = tokenizer;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "tokenizacao-em-segundo-plano");
+            t.setDaemon(true); // Não impede o fechamento da aplicação
+            return t;
+        });
+    }
+
+    /**
+     * Inicia a tokenização do arquivo em segundo plano (se ainda não estiver em
+     * cache com o mesmo tamanho e data)
+     *
+     * @param file Arquivo selecionado
+     */
+    public synchronized void prefetch(File file) {
+        try {
+            FileKey novaChave = FileKey.of(file);
+            if (novaChave.tamanho() > LIMITE_BYTES) {
+                invalidate(); // Grande demais para guardar todos os tokens
+                return;
+            }
+            entrada(novaChave);
+        } catch (IOException e) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Verifica se os tokens do arquivo já estão prontos, sem bloquear
+     *
+     * @param file Arquivo a ser analisado
+     * @return true se o cache tem o resultado atualizado e concluído
+     */
+    public synchronized boolean isReady(File file) {
+        try {
+            return FileKey.of(file).equals(chave) && tokens.isDone() && !tokens.isCompletedExceptionally();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Verifica se há uma entrada para o arquivo (pronta ou em andamento), sem
+     * bloquear
+     *
+     * @param file Arquivo a ser analisado
+     * @return true se get reaproveitaria a tokenização iniciada na seleção
+     */
+    public synchronized boolean contains(File file) {
+        try {
+            return FileKey.of(file).equals(chave) && !tokens.isCompletedExceptionally();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Se os tokens do arquivo não estão prontos, descarta a entrada e cancela a
+     * tokenização em andamento, para que quem chamou processe o arquivo por
+     * conta própria sem tokenizá-lo duas vezes ao mesmo tempo
+     *
+     * @param file Arquivo a ser analisado
+     * @return true se a entrada foi descartada; false se os tokens estão
+     *         prontos (use get)
+     */
+    public synchronized boolean cancelIfNotReady(File file) {
+        if (isReady(file)) {
+            return false;
+        }
+        invalidate();
+        return true;
+    }
+
+    /**
+     * Obtém os tokens do arquivo, esperando a tokenização em segundo plano se
+     * ela ainda não terminou. Se o arquivo mudou desde a seleção, tokeniza de
+     * novo. Arquivos acima de LIMITE_BYTES são tokenizados na thread de quem
+     * chamou, sem guardar o resultado.
+     *
+     * @param file Arquivo a ser analisado
+     * @return Tokens na ordem do arquivo (stopwords removidas)
+     * @throws IOException Se o arquivo não puder ser lido
+     */
+    public String[] get(File file) throws IOException {
+        FileKey novaChave = FileKey.of(file);
+        if (novaChave.tamanho() > LIMITE_BYTES) {
+            invalidate();
+            try {
+                return new ParallelTokenizer(tokenizer).tokenizeFileToArray(novaChave.caminho().toString(), true,
+                        () -> false);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        CompletableFuture<String[]> pendente;
+        synchronized (this) {
+            pendente = entrada(novaChave);
+        }
+        try {
+            return pendente.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Tokenização interrompida", e);
+        } catch (CancellationException e) {
+            throw new IOException("Tokenização cancelada (outro arquivo foi selecionado)", e);
+        } catch (ExecutionException e) {
+            synchronized (this) {
+                if (tokens == pendente) { // Não descarta uma entrada mais nova
+                    invalidate();
+                }
+            }
+            if (e.getCause() instanceof UncheckedIOException leitura) {
+                throw leitura.getCause();
+            }
+            throw new IOException("Falha na tokenização: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Descarta a entrada atual
+     */
+    public synchronized void invalidate() {
+        if (tokens != null) {
+            cancelado.set(true);
+            tokens.cancel(false);
+        }
+        chave = null;
+        tokens = null;
+        cancelado = null;
+    }
+
+    /**
+     * Reaproveita a entrada se a chave for a mesma; caso contrário, descarta-a
+     * e agenda uma nova tokenização
+     */
+    private CompletableFuture<String[]> entrada(FileKey novaChave) {
+        if (novaChave.equals(chave) && !tokens.isCompletedExceptionally()) {
+            return tokens;
+        }
+        invalidate();
+        String caminho = novaChave.caminho().toString();
+        AtomicBoolean sinal = new AtomicBoolean();
+        chave = novaChave;
+        cancelado = sinal;
+        tokens = CompletableFuture.supplyAsync(
+                () -> new ParallelTokenizer(tokenizer).tokenizeFileToArray(caminho, true, sinal::get), executor);
+        return tokens;
+    }
+}
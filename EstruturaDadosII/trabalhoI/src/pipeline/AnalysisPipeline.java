@@ -0,0 +1,360 @@
+// src/pipeline/AnalysisPipeline.java
+
+package pipeline;
+
+import tokenizer.TextTokenizer;
+import tokenizer.Utf8Scanner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+
+/**
+ * Pipeline produtor/consumidor para a análise de um arquivo
+ * Três estágios rodam em threads separadas e se comunicam por filas limitadas
+ * de lotes:
+ *
+ * leitor (blocos de bytes) → tokenizador (lotes de palavras) → contagem
+ *
+ * A leitura do disco, a tokenização e a inserção na estrutura se sobrepõem, e
+ * o vetor completo de tokens nunca é criado. Quando um estágio fica à frente,
+ * ele bloqueia na fila cheia (backpressure), então a memória em uso fica
+ * limitada pela capacidade das filas. Os buffers de bytes e os lotes são
+ * reaproveitados entre as voltas.
+ *
+ * O estágio de contagem é a própria thread que chama o produtor, de modo que o
+ * pipeline encaixa direto no buildWithStats das estruturas:
+ *
+ * estrutura.buildWithStats(pipeline.producer(caminho, true))
+ */
+public class AnalysisPipeline {
+    public static final int DEFAULT_CHUNK_BYTES = 1 << 20; // Bloco lido do disco por vez
+    public static final int DEFAULT_BATCH_TOKENS = 4096; // Palavras por lote
+    public static final int DEFAULT_QUEUE_CAPACITY = 8; // Lotes em cada fila
+
+    private static final ByteBuffer END_OF_FILE = ByteBuffer.allocate(0); // Marca de fim dos blocos
+    private static final TokenBatch END_OF_TOKENS = new TokenBatch(0); // Marca de fim dos lotes
+
+    private final TextTokenizer tokenizer; // Fonte das stopwords e do scanner
+    private final int chunkBytes; // Tamanho de cada bloco de bytes
+    private final int batchTokens; // Tamanho de cada lote de palavras
+    private final int queueCapacity; // Capacidade de cada fila
+    private volatile PipelineStats lastStats; // Métricas da última execução
+
+    /**
+     * Construtor com os tamanhos padrão
+     *
+     * @param tokenizer Tokenizador com as stopwords a serem usadas
+     */
+    public AnalysisPipeline(TextTokenizer tokenizer) {
+        this(tokenizer, DEFAULT_CHUNK_BYTES, DEFAULT_BATCH_TOKENS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Construtor completo
+     *
+     * @param tokenizer     Tokenizador com as stopwords a serem usadas
+     * @param chunkBytes    Bytes lidos do disco por bloco
+     * @param batchTokens   Palavras por lote entregue à contagem
+     * @param queueCapacity Lotes que cada fila comporta antes de bloquear
+     */
+    public AnalysisPipeline(TextTokenizer tokenizer, int chunkBytes, int batchTokens, int queueCapacity) {
+        if (chunkBytes <= 0 || batchTokens <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Tamanhos do pipeline devem ser positivos");
+        }
+        this.tokenizer = tokenizer;
+        this.chunkBytes = chunkBytes;
+        this.batchTokens = batchTokens;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Produtor de palavras para o buildWithStats das estruturas
+     *
+     * @param filePath        Caminho do arquivo de texto
+     * @param removeStopwords Se true, remove stopwords
+     * @return Produtor que executa o pipeline entregando as palavras ao destino
+     */
+    public Consumer<Consumer<String>> producer(String filePath, boolean removeStopwords) {
+        return destino -> run(filePath, removeStopwords, destino);
+    }
+
+    /**
+     * @return Métricas da última execução (null se ainda não executou)
+     */
+    public PipelineStats getLastStats() {
+        return lastStats;
+    }
+
+    /**
+     * Executa o pipeline. A thread que chama é o estágio de contagem: cada
+     * palavra é entregue ao destino nela, na ordem do arquivo.
+     *
+     * @param filePath        Caminho do arquivo de texto
+     * @param removeStopwords Se true, remove stopwords
+     * @param destino         Estágio de contagem (ex.: inserção na estrutura)
+     * @return Métricas da execução
+     */
+    public PipelineStats run(String filePath, boolean removeStopwords, Consumer<String> destino) {
+        long inicio = System.nanoTime();
+
+        // Filas de trabalho (limitadas) e pools de buffers vazios para reaproveitar
+        BlockingQueue<ByteBuffer> chunks = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<ByteBuffer> freeChunks = new ArrayBlockingQueue<>(queueCapacity + 2);
+        for (int i = 0; i < queueCapacity + 2; i++) {
+            freeChunks.add(ByteBuffer.allocate(chunkBytes));
+        }
+        BlockingQueue<TokenBatch> batches = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<TokenBatch> freeBatches = new ArrayBlockingQueue<>(queueCapacity + 2);
+        for (int i = 0; i < queueCapacity + 2; i++) {
+            freeBatches.add(new TokenBatch(batchTokens));
+        }
+
+        Stage leitor = new Stage("Leitura", "bytes", queueCapacity);
+        Stage tokenizador = new Stage("Tokenização", "tokens", queueCapacity);
+        Stage contagem = new Stage("Contagem", "tokens", 0);
+
+        Thread readerThread = new Thread(() -> read(filePath, leitor, chunks, freeChunks), "pipeline-leitura");
+        Thread tokenizerThread = new Thread(
+                () -> tokenize(removeStopwords, tokenizador, chunks, freeChunks, batches, freeBatches),
+                "pipeline-tokenizacao");
+        readerThread.setDaemon(true);
+        tokenizerThread.setDaemon(true);
+        readerThread.start();
+        tokenizerThread.start();
+
+        boolean concluido = false;
+        try {
+            contagem.start();
+            while (true) {
+                TokenBatch batch = contagem.take(batches);
+                if (batch == END_OF_TOKENS) {
+                    break;
+                }
+                long t = System.nanoTime();
+                for (int i = 0; i < batch.size; i++) {
+                    destino.accept(batch.tokens[i]);
+                }
+                contagem.busy += System.nanoTime() - t;
+                contagem.items += batch.size;
+                batch.size = 0;
+                freeBatches.add(batch);
+            }
+            contagem.stop();
+            concluido = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!concluido) {
+                // Contagem abortada: libera os outros estágios bloqueados nas filas
+                readerThread.interrupt();
+                tokenizerThread.interrupt();
+            }
+            join(readerThread);
+            join(tokenizerThread);
+        }
+
+        PipelineStats stats = new PipelineStats(
+                List.of(leitor.toStats(), tokenizador.toStats(), contagem.toStats()),
+                (System.nanoTime() - inicio) / 1_000_000.0);
+        lastStats = stats;
+        return stats;
+    }
+
+    /**
+     * Estágio de leitura: preenche blocos de bytes a partir do arquivo
+     */
+    private void read(String filePath, Stage stage, BlockingQueue<ByteBuffer> chunks,
+            BlockingQueue<ByteBuffer> freeChunks) {
+        stage.start();
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            boolean fim = false;
+            while (!fim) {
+                ByteBuffer chunk = stage.take(freeChunks);
+                chunk.clear();
+                long t = System.nanoTime();
+                // Enche o bloco inteiro (uma leitura pode devolver menos bytes)
+                while (chunk.hasRemaining()) {
+                    if (channel.read(chunk) < 0) {
+                        fim = true;
+                        break;
+                    }
+                }
+                stage.busy += System.nanoTime() - t;
+                chunk.flip();
+                stage.items += chunk.remaining();
+                if (chunk.hasRemaining()) {
+                    stage.put(chunks, chunk);
+                } else {
+                    freeChunks.add(chunk);
+                }
+            }
+        } catch (ClosedByInterruptException e) {
+            return; // Pipeline cancelado durante a leitura
+        } catch (IOException e) {
+            System.err.println("Error: Could not read text file: " + e.getMessage());
+        } catch (InterruptedException e) {
+            return; // Pipeline cancelado: não há quem consuma o fim
+        }
+        try {
+            stage.put(chunks, END_OF_FILE);
+        } catch (InterruptedException e) {
+            return;
+        }
+        stage.stop();
+    }
+
+    /**
+     * Estágio de tokenização: varre os blocos de bytes (o scanner mantém o
+     * estado entre blocos) e agrupa as palavras em lotes
+     */
+    private void tokenize(boolean removeStopwords, Stage stage, BlockingQueue<ByteBuffer> chunks,
+            BlockingQueue<ByteBuffer> freeChunks, BlockingQueue<TokenBatch> batches,
+            BlockingQueue<TokenBatch> freeBatches) {
+        stage.start();
+        BatchWriter writer = new BatchWriter(stage, batches, freeBatches);
+        Utf8Scanner scanner = tokenizer.newUtf8Scanner(removeStopwords, writer);
+        try {
+            writer.batch = stage.take(freeBatches);
+            while (true) {
+                ByteBuffer chunk = stage.take(chunks);
+                if (chunk == END_OF_FILE) {
+                    break;
+                }
+                long t = System.nanoTime();
+                scanner.feed(chunk);
+                stage.busy += System.nanoTime() - t - writer.waitInside;
+                writer.waitInside = 0;
+                freeChunks.add(chunk);
+            }
+            long t = System.nanoTime();
+            scanner.finish();
+            stage.busy += System.nanoTime() - t - writer.waitInside;
+            if (writer.batch.size > 0) {
+                stage.put(batches, writer.batch);
+            }
+            stage.put(batches, END_OF_TOKENS);
+        } catch (InterruptedException | CancellationException e) {
+            return; // Pipeline cancelado
+        }
+        stage.stop();
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Lote de palavras trafegando entre tokenização e contagem
+     */
+    private static class TokenBatch {
+        final String[] tokens; // Palavras do lote
+        int size; // Palavras preenchidas
+
+        TokenBatch(int capacity) {
+            tokens = new String[capacity];
+        }
+    }
+
+    /**
+     * Recebe as palavras do scanner e entrega um lote sempre que ele enche
+     */
+    private static class BatchWriter implements Consumer<String> {
+        private final Stage stage; // Estágio de tokenização (métricas)
+        private final BlockingQueue<TokenBatch> batches; // Fila de saída
+        private final BlockingQueue<TokenBatch> freeBatches; // Lotes vazios
+        TokenBatch batch; // Lote sendo preenchido
+        long waitInside; // Tempo bloqueado durante o último feed
+
+        BatchWriter(Stage stage, BlockingQueue<TokenBatch> batches, BlockingQueue<TokenBatch> freeBatches) {
+            this.stage = stage;
+            this.batches = batches;
+            this.freeBatches = freeBatches;
+        }
+
+        @Override
+        public void accept(String word) {
+            batch.tokens[batch.size++] = word;
+            stage.items++;
+            if (batch.size == batch.tokens.length) {
+                long espera = stage.wait;
+                try {
+                    stage.put(batches, batch);
+                    batch = stage.take(freeBatches);
+                } catch (InterruptedException e) {
+                    // O scanner não propaga exceções verificadas
+                    throw new CancellationException("Pipeline cancelado");
+                }
+                waitInside += stage.wait - espera;
+            }
+        }
+    }
+
+    /**
+     * Contadores de um estágio. Cada estágio é atualizado por uma única thread e
+     * lido somente depois do join.
+     */
+    private static class Stage {
+        private final String name; // Nome exibido
+        private final String unit; // Unidade dos itens
+        private final int queueCapacity; // Capacidade da fila de saída (0 = sem fila)
+        long items; // Itens processados
+        long busy; // Nanossegundos trabalhando
+        long wait; // Nanossegundos bloqueado nas filas
+        private long started; // Início do estágio
+        private long elapsed; // Duração do estágio
+        private long samples; // Amostras de ocupação da fila de saída
+        private long occupancySum; // Soma das ocupações amostradas
+        private int occupancyMax; // Maior ocupação observada
+
+        Stage(String name, String unit, int queueCapacity) {
+            this.name = name;
+            this.unit = unit;
+            this.queueCapacity = queueCapacity;
+        }
+
+        void start() {
+            started = System.nanoTime();
+        }
+
+        void stop() {
+            elapsed = System.nanoTime() - started;
+        }
+
+        <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+            long t = System.nanoTime();
+            T item = queue.take();
+            wait += System.nanoTime() - t;
+            return item;
+        }
+
+        <T> void put(BlockingQueue<T> queue, T item) throws InterruptedException {
+            long t = System.nanoTime();
+            queue.put(item);
+            wait += System.nanoTime() - t;
+            // Ocupação logo após a entrega: perto da capacidade = consumidor é o gargalo
+            int occupancy = queue.size();
+            samples++;
+            occupancySum += occupancy;
+            occupancyMax = Math.max(occupancyMax, occupancy);
+        }
+
+        StageStats toStats() {
+            return new StageStats(name, unit, items, busy / 1_000_000.0, wait / 1_000_000.0,
+                    elapsed / 1_000_000.0, queueCapacity,
+                    samples > 0 ? (double) occupancySum / samples : 0, occupancyMax);
+        }
+    }
+}
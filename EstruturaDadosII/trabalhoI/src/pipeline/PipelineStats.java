@@ -0,0 +1,41 @@
+// src/pipeline/PipelineStats.java
+
+package pipeline;
+
+import java.util.List;
+
+/**
+ * Métricas de uma execução do pipeline (leitura → tokenização → contagem)
+ */
+public class PipelineStats {
+    private final List<StageStats> estagios; // Estágios, na ordem do fluxo
+    private final double tempoMilissegundos; // Tempo total da execução
+
+    public PipelineStats(List<StageStats> estagios, double tempoMilissegundos) {
+        this.estagios = List.copyOf(estagios);
+        this.tempoMilissegundos = tempoMilissegundos;
+    }
+
+    /**
+     * Retorna representação formatada das métricas
+     *
+     * @return Uma linha por estágio, com vazão e ocupação das filas
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("🔀 PIPELINE (%.2f ms):", tempoMilissegundos));
+        for (StageStats estagio : estagios) {
+            sb.append('\n').append(estagio);
+        }
+        return sb.toString();
+    }
+
+    public List<StageStats> getEstagios() {
+        return estagios;
+    }
+
+    public double getTempoMilissegundos() {
+        return tempoMilissegundos;
+    }
+}
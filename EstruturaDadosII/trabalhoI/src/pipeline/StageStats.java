@@ -0,0 +1,90 @@
+// src/pipeline/StageStats.java
+
+package pipeline;
+
+/**
+ * Métricas de um estágio do pipeline de análise
+ * Separa o tempo em que o estágio trabalhou do tempo em que ficou bloqueado
+ * esperando as filas (entrada vazia ou saída cheia), e registra a ocupação da
+ * fila de saída amostrada a cada lote entregue.
+ */
+public class StageStats {
+    private final String nome; // Nome do estágio
+    private final String unidade; // Unidade dos itens processados (bytes, tokens)
+    private final long itens; // Total de itens processados
+    private final double ocupadoMs; // Tempo trabalhando
+    private final double esperaMs; // Tempo bloqueado nas filas
+    private final double totalMs; // Tempo total do estágio
+    private final int capacidadeFila; // Capacidade da fila de saída (0 = sem fila)
+    private final double ocupacaoMedia; // Lotes na fila de saída, em média
+    private final int ocupacaoMaxima; // Maior número de lotes na fila de saída
+
+    public StageStats(String nome, String unidade, long itens, double ocupadoMs, double esperaMs,
+            double totalMs, int capacidadeFila, double ocupacaoMedia, int ocupacaoMaxima) {
+        this.nome = nome;
+        this.unidade = unidade;
+        this.itens = itens;
+        this.ocupadoMs = ocupadoMs;
+        this.esperaMs = esperaMs;
+        this.totalMs = totalMs;
+        this.capacidadeFila = capacidadeFila;
+        this.ocupacaoMedia = ocupacaoMedia;
+        this.ocupacaoMaxima = ocupacaoMaxima;
+    }
+
+    /**
+     * @return Itens por segundo considerando o tempo total do estágio
+     */
+    public double getVazao() {
+        return totalMs > 0 ? itens / (totalMs / 1000.0) : 0;
+    }
+
+    @Override
+    public String toString() {
+        String texto = String.format("• %-11s %,d %s | %,.0f %s/s | trabalhando %.2f ms | bloqueado %.2f ms",
+                nome, itens, unidade, getVazao(), unidade, ocupadoMs, esperaMs);
+        if (capacidadeFila > 0) {
+            texto += String.format(" | fila de saída: média %.1f, máx %d de %d lotes",
+                    ocupacaoMedia, ocupacaoMaxima, capacidadeFila);
+        }
+        return texto;
+    }
+
+    // Métodos de acesso (getters) para os campos privados
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getUnidade() {
+        return unidade;
+    }
+
+    public long getItens() {
+        return itens;
+    }
+
+    public double getOcupadoMs() {
+        return ocupadoMs;
+    }
+
+    public double getEsperaMs() {
+        return esperaMs;
+    }
+
+    public double getTotalMs() {
+        return totalMs;
+    }
+
+    public int getCapacidadeFila() {
+        return capacidadeFila;
+    }
+
+    public double getOcupacaoMedia() {
+        return ocupacaoMedia;
+    }
+
+    public int getOcupacaoMaxima() {
+        return ocupacaoMaxima;
+    }
+}
@@ -0,0 +1,301 @@
+// src/snapshot/VocabularySnapshot.java
+
+package snapshot;
+
+import arvore.WordCount;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Snapshot binário de um vocabulário já contado (palavras e frequências)
+ * Permite reabrir o resultado de uma análise sem tokenizar e contar o corpus
+ * de novo: o arquivo é mapeado em memória (FileChannel.map) e consultado
+ * direto nos bytes, sem carregar as palavras.
+ *
+ * Formato (inteiros em big-endian):
+ *
+ * MAGIC, VERSAO
+ * blocos: até TAMANHO_BLOCO palavras cada, em ordem alfabética. Cada entrada
+ * guarda o número de bytes em comum com a palavra anterior (front coding), o
+ * número de bytes novos, os bytes novos em UTF-8 e a frequência, todos os
+ * números como varint. A primeira entrada de um bloco é completa (0 bytes em
+ * comum), para que o bloco possa ser lido sozinho.
+ * índice: posição de início de cada bloco (int)
+ * rodapé: palavras, blocos, palavras por bloco, posição do índice, total de
+ * ocorrências (long) e MAGIC
+ *
+ * Uma busca faz busca binária na primeira palavra de cada bloco e depois lê
+ * somente um bloco. As posições são int: o snapshot é limitado a 2 GB (bem
+ * acima do vocabulário de qualquer corpus; o corpus em si não entra).
+ */
+public final class VocabularySnapshot {
+    private static final int MAGIC = 0x564F4342; // "VOCB"
+    private static final int VERSAO = 1;
+    private static final int TAMANHO_BLOCO = 32; // Palavras por bloco
+    private static final int TAMANHO_RODAPE = 5 * Integer.BYTES + Long.BYTES; // Rodapé de tamanho fixo
+
+    private final ByteBuffer dados; // Arquivo mapeado (somente leitura)
+    private final int palavras; // Palavras no vocabulário
+    private final int blocos; // Número de blocos
+    private final int palavrasPorBloco; // Palavras por bloco
+    private final int inicioIndice; // Posição do índice de blocos
+    private final long totalOcorrencias; // Soma das frequências
+
+    private VocabularySnapshot(ByteBuffer dados) throws IOException {
+        this.dados = dados;
+        int rodape = dados.limit() - TAMANHO_RODAPE;
+        if (rodape < 2 * Integer.BYTES || dados.getInt(0) != MAGIC || dados.getInt(dados.limit() - Integer.BYTES) != MAGIC) {
+            throw new IOException("Snapshot de vocabulário inválido");
+        }
+        if (dados.getInt(Integer.BYTES) != VERSAO) {
+            throw new IOException("Versão de snapshot não suportada: " + dados.getInt(Integer.BYTES));
+        }
+        this.palavras = dados.getInt(rodape);
+        this.blocos = dados.getInt(rodape + 4);
+        this.palavrasPorBloco = dados.getInt(rodape + 8);
+        this.inicioIndice = dados.getInt(rodape + 12);
+        this.totalOcorrencias = dados.getLong(rodape + 16);
+    }
+
+    /**
+     * Grava o vocabulário de uma estrutura (ex.: avl.range(null, null))
+     *
+     * @param vocabulario Palavras em ordem alfabética, sem repetições
+     * @param destino     Arquivo do snapshot
+     * @throws IOException Se não for possível gravar
+     * @throws IllegalArgumentException Se as palavras não vierem em ordem
+     */
+    public static void write(Iterator<WordCount> vocabulario, Path destino) throws IOException {
+        try (OutputStream arquivo = Files.newOutputStream(destino);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(arquivo, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSAO);
+
+            int[] indice = new int[16];
+            int palavras = 0;
+            long total = 0;
+            String anterior = null;
+            byte[] bytesAnterior = new byte[0];
+
+            while (vocabulario.hasNext()) {
+                WordCount wc = vocabulario.next();
+                if (anterior != null && anterior.compareTo(wc.getPalavra()) >= 0) {
+                    throw new IllegalArgumentException("Palavras fora de ordem: " + anterior + ", " + wc.getPalavra());
+                }
+                byte[] bytes = wc.getPalavra().getBytes(StandardCharsets.UTF_8);
+
+                int comum = 0;
+                if (palavras % TAMANHO_BLOCO == 0) {
+                    int bloco = palavras / TAMANHO_BLOCO;
+                    if (bloco == indice.length) {
+                        indice = Arrays.copyOf(indice, bloco * 2);
+                    }
+                    indice[bloco] = out.size(); // Entrada completa no início do bloco
+                } else {
+                    comum = Arrays.mismatch(bytes, bytesAnterior);
+                    if (comum < 0) {
+                        comum = bytes.length;
+                    }
+                }
+                escreverVarint(out, comum);
+                escreverVarint(out, bytes.length - comum);
+                out.write(bytes, comum, bytes.length - comum);
+                escreverVarint(out, wc.getFrequencia());
+
+                palavras++;
+                total += wc.getFrequencia();
+                anterior = wc.getPalavra();
+                bytesAnterior = bytes;
+            }
+
+            int blocos = (palavras + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+            int inicioIndice = out.size();
+            if (inicioIndice == Integer.MAX_VALUE) { // DataOutputStream.size satura em 2 GB
+                throw new IOException("Snapshot maior que 2 GB");
+            }
+            for (int b = 0; b < blocos; b++) {
+                out.writeInt(indice[b]);
+            }
+            out.writeInt(palavras);
+            out.writeInt(blocos);
+            out.writeInt(TAMANHO_BLOCO);
+            out.writeInt(inicioIndice);
+            out.writeLong(total);
+            out.writeInt(MAGIC);
+        }
+    }
+
+    /**
+     * Abre um snapshot mapeando o arquivo em memória. A abertura só lê o
+     * rodapé; as palavras são decodificadas sob demanda.
+     *
+     * @param arquivo Arquivo gravado por write
+     * @return Snapshot somente leitura
+     * @throws IOException Se o arquivo não existir ou não for um snapshot
+     */
+    public static VocabularySnapshot open(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            // O mapeamento continua válido depois que o canal é fechado
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            return new VocabularySnapshot(mapa.order(ByteOrder.BIG_ENDIAN));
+        }
+    }
+
+    /**
+     * Obtém a frequência de uma palavra: busca binária no índice de blocos e
+     * leitura de um único bloco
+     *
+     * @param palavra Palavra procurada
+     * @return Frequência (0 se a palavra não estiver no vocabulário)
+     */
+    public int getFrequency(String palavra) {
+        // Último bloco cuja primeira palavra é <= palavra
+        int esquerda = 0;
+        int direita = blocos - 1;
+        int bloco = -1;
+        while (esquerda <= direita) {
+            int meio = (esquerda + direita) >>> 1;
+            if (primeiraPalavra(meio).compareTo(palavra) <= 0) {
+                bloco = meio;
+                esquerda = meio + 1;
+            } else {
+                direita = meio - 1;
+            }
+        }
+        if (bloco < 0) {
+            return 0;
+        }
+
+        byte[] procurada = palavra.getBytes(StandardCharsets.UTF_8);
+        Leitor leitor = new Leitor(bloco);
+        for (int i = 0; i < leitor.restantes; i++) {
+            leitor.proxima();
+            if (leitor.tamanho == procurada.length
+                    && Arrays.equals(leitor.bytes, 0, leitor.tamanho, procurada, 0, procurada.length)) {
+                return leitor.frequencia;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Percorre todo o vocabulário em ordem alfabética (ex.: para recarregar uma
+     * estrutura)
+     *
+     * @return Iterador sobre as palavras do snapshot
+     */
+    public Iterator<WordCount> iterator() {
+        return new Iterator<WordCount>() {
+            private int lidas = 0;
+            private Leitor leitor;
+
+            @Override
+            public boolean hasNext() {
+                return lidas < palavras;
+            }
+
+            @Override
+            public WordCount next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (lidas % palavrasPorBloco == 0) {
+                    leitor = new Leitor(lidas / palavrasPorBloco);
+                }
+                leitor.proxima();
+                lidas++;
+                return new WordCount(leitor.palavra(), leitor.frequencia);
+            }
+        };
+    }
+
+    /**
+     * @return Número de palavras distintas
+     */
+    public int size() {
+        return palavras;
+    }
+
+    /**
+     * @return Soma das frequências (tokens do corpus original)
+     */
+    public long getTotalOcorrencias() {
+        return totalOcorrencias;
+    }
+
+    private String primeiraPalavra(int bloco) {
+        Leitor leitor = new Leitor(bloco);
+        leitor.proxima();
+        return leitor.palavra();
+    }
+
+    /**
+     * Decodifica as entradas de um bloco em sequência, reconstruindo cada
+     * palavra a partir dos bytes da anterior
+     */
+    private final class Leitor {
+        private int posicao; // Próximo byte a ler
+        private final int restantes; // Entradas neste bloco
+        private byte[] bytes = new byte[64]; // Bytes UTF-8 da palavra atual
+        private int tamanho; // Bytes válidos em bytes
+        private int frequencia; // Frequência da palavra atual
+
+        Leitor(int bloco) {
+            this.posicao = dados.getInt(inicioIndice + bloco * Integer.BYTES);
+            this.restantes = Math.min(palavrasPorBloco, palavras - bloco * palavrasPorBloco);
+        }
+
+        void proxima() {
+            int comum = lerVarint();
+            int novos = lerVarint();
+            if (comum + novos > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, comum + novos));
+            }
+            dados.get(posicao, bytes, comum, novos);
+            posicao += novos;
+            tamanho = comum + novos;
+            frequencia = lerVarint();
+        }
+
+        String palavra() {
+            return new String(bytes, 0, tamanho, StandardCharsets.UTF_8);
+        }
+
+        private int lerVarint() {
+            int valor = 0;
+            int deslocamento = 0;
+            byte b;
+            do {
+                b = dados.get(posicao++);
+                valor |= (b & 0x7F) << deslocamento;
+                deslocamento += 7;
+            } while (b < 0);
+            return valor;
+        }
+    }
+
+    /**
+     * Grava um inteiro não negativo em 7 bits por byte (bit alto = continua)
+     */
+    private static void escreverVarint(DataOutputStream out, int valor) throws IOException {
+        while ((valor & ~0x7F) != 0) {
+            out.writeByte((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        out.writeByte(valor);
+    }
+}
@@ -0,0 +1,159 @@
+// src/tokenizer/AhoCorasick.java
+
+package tokenizer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Autômato de Aho-Corasick para localizar vários padrões em uma única passada
+ * Usado na divisão de palavras compostas: encontra a primeira ocorrência de
+ * cada preposição de ligação sem um indexOf por preposição. O custo por
+ * palavra é proporcional ao tamanho da palavra (mais o número de ocorrências),
+ * independentemente de quantos padrões existem.
+ */
+final class AhoCorasick {
+    private final String[] patterns; // Padrões, na ordem de prioridade
+    private final int[] alphabet; // char -> índice no alfabeto (-1 = fora do alfabeto)
+    private final int alphabetSize; // Número de chars distintos nos padrões
+    private final int[][] next; // Transições completas (DFA): estado x símbolo -> estado
+    private final int[] output; // Padrão que termina exatamente no estado (-1 = nenhum)
+    private final int[] outputLink; // Próximo estado com saída na cadeia de falhas (-1 = fim)
+
+    /**
+     * Compila os padrões no autômato
+     *
+     * @param patternList Padrões em ordem de prioridade (repetidos e vazios são
+     *                    ignorados)
+     */
+    AhoCorasick(List<String> patternList) {
+        LinkedHashSet<String> unique = new LinkedHashSet<>();
+        for (String p : patternList) {
+            if (p != null && !p.isEmpty()) {
+                unique.add(p);
+            }
+        }
+        patterns = unique.toArray(new String[0]);
+
+        // Alfabeto compacto: somente os chars que aparecem nos padrões
+        alphabet = new int[Character.MAX_VALUE + 1];
+        Arrays.fill(alphabet, -1);
+        int symbols = 0;
+        for (String p : patterns) {
+            for (int i = 0; i < p.length(); i++) {
+                if (alphabet[p.charAt(i)] < 0) {
+                    alphabet[p.charAt(i)] = symbols++;
+                }
+            }
+        }
+        alphabetSize = symbols;
+
+        // Passo 1: trie dos padrões
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        trie.add(newRow());
+        ends.add(-1);
+        for (int id = 0; id < patterns.length; id++) {
+            int state = 0;
+            for (int i = 0; i < patterns[id].length(); i++) {
+                int symbol = alphabet[patterns[id].charAt(i)];
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newRow());
+                    ends.add(-1);
+                }
+                state = trie.get(state)[symbol];
+            }
+            ends.set(state, id);
+        }
+
+        int states = trie.size();
+        next = trie.toArray(new int[0][]);
+        output = new int[states];
+        outputLink = new int[states];
+        int[] fail = new int[states];
+        for (int s = 0; s < states; s++) {
+            output[s] = ends.get(s);
+        }
+
+        // Passo 2: links de falha em largura, completando as transições
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        outputLink[0] = -1;
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int child = next[0][symbol];
+            if (child < 0) {
+                next[0][symbol] = 0;
+            } else {
+                fail[child] = 0;
+                outputLink[child] = -1;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int child = next[state][symbol];
+                if (child < 0) {
+                    next[state][symbol] = next[fail[state]][symbol];
+                } else {
+                    int f = next[fail[state]][symbol];
+                    fail[child] = f;
+                    outputLink[child] = output[f] >= 0 ? f : outputLink[f];
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    /**
+     * @return Número de padrões distintos
+     */
+    int size() {
+        return patterns.length;
+    }
+
+    /**
+     * @param id Índice do padrão
+     * @return Padrão correspondente
+     */
+    String pattern(int id) {
+        return patterns[id];
+    }
+
+    /**
+     * Registra a primeira ocorrência de cada padrão na palavra, em uma passada
+     *
+     * @param word    Palavra a ser examinada
+     * @param first   Saída: first[id] = índice da primeira ocorrência (deve vir
+     *                preenchido com -1; o chamador restaura usando found)
+     * @param found   Saída: ids dos padrões encontrados
+     * @return Quantidade de ids gravados em found
+     */
+    int firstOccurrences(String word, int[] first, int[] found) {
+        int count = 0;
+        int state = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int symbol = alphabet[word.charAt(i)];
+            state = symbol < 0 ? 0 : next[state][symbol];
+
+            // Percorre apenas os estados com saída na cadeia de falhas
+            for (int s = output[state] >= 0 ? state : outputLink[state]; s >= 0; s = outputLink[s]) {
+                int id = output[s];
+                if (first[id] < 0) {
+                    first[id] = i - patterns[id].length() + 1;
+                    found[count++] = id;
+                }
+            }
+        }
+        return count;
+    }
+}
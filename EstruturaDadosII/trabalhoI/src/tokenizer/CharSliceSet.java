@@ -0,0 +1,93 @@
+// src/tokenizer/CharSliceSet.java
+
+package tokenizer;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Conjunto imutável de palavras consultável diretamente por uma TokenView
+ * Usa endereçamento aberto com o hash guardado ao lado de cada chave e
+ * reaproveita o hash já calculado pelo scanner, evitando criar uma String só
+ * para testar se um token é stopword.
+ */
+final class CharSliceSet {
+    private final char[][] keys; // Palavras armazenadas (null = posição livre)
+    private final int[] hashes; // Hash de cada palavra (fórmula de String.hashCode)
+    private final int mask; // Capacidade - 1 (capacidade é potência de 2)
+    private final int size; // Número de palavras
+
+    /**
+     * @param words Palavras do conjunto
+     */
+    CharSliceSet(Collection<String> words) {
+        int capacity = Integer.highestOneBit(Math.max(4, words.size() * 2 - 1)) << 1;
+        keys = new char[capacity][];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+
+        int count = 0;
+        for (String word : words) {
+            char[] key = word.toCharArray();
+            int h = word.hashCode();
+            int slot = spread(h) & mask;
+            while (keys[slot] != null && !(hashes[slot] == h && Arrays.equals(keys[slot], key))) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == null) {
+                keys[slot] = key;
+                hashes[slot] = h;
+                count++;
+            }
+        }
+        size = count;
+    }
+
+    /**
+     * Verifica se o token está no conjunto
+     *
+     * @param token Token (com hash pré-calculado)
+     * @return True se a palavra pertence ao conjunto
+     */
+    boolean contains(TokenView token) {
+        int hash = token.hashCode();
+        int slot = spread(hash) & mask;
+        while (keys[slot] != null) {
+            if (hashes[slot] == hash && token.contentEquals(keys[slot])) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se a palavra está no conjunto
+     *
+     * @param word Palavra em minúsculas
+     * @return True se a palavra pertence ao conjunto
+     */
+    boolean contains(String word) {
+        int hash = word.hashCode();
+        int slot = spread(hash) & mask;
+        while (keys[slot] != null) {
+            if (hashes[slot] == hash && word.contentEquals(CharBuffer.wrap(keys[slot]))) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return Número de palavras no conjunto
+     */
+    int size() {
+        return size;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
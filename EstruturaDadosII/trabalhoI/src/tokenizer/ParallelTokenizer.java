@@ -0,0 +1,265 @@
+// src/tokenizer/ParallelTokenizer.java
+
+package tokenizer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Tokenização paralela (fork/join) de textos grandes
+ * A entrada é dividida em blocos cujas bordas são deslocadas até o próximo
+ * separador, de modo que nenhuma palavra é cortada ao meio. Cada bloco é
+ * tokenizado por um scanner próprio e os resultados são concatenados na ordem
+ * original (a forma da BST depende da ordem de inserção).
+ */
+public class ParallelTokenizer {
+    private static final int MIN_CHUNK = 1 << 16; // Abaixo disso (chars ou bytes) não compensa dividir
+    private static final long MAX_CHUNK_BYTES = 64L * 1024 * 1024; // Maior janela mapeada por bloco
+    private static final int CHUNKS_PER_THREAD = 4; // Blocos extras para equilibrar a carga
+    private static final int SLICE_BYTES = 1 << 20; // Fatia varrida entre verificações de cancelamento
+
+    private final TextTokenizer tokenizer; // Fonte das stopwords e do scanner
+    private final ForkJoinPool pool; // Pool onde os blocos são processados
+
+    /**
+     * Construtor usando o pool comum do ForkJoin
+     *
+     * @param tokenizer Tokenizador com as stopwords a serem usadas
+     */
+    public ParallelTokenizer(TextTokenizer tokenizer) {
+        this(tokenizer, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construtor com pool customizado
+     *
+     * @param tokenizer Tokenizador com as stopwords a serem usadas
+     * @param pool      Pool onde os blocos serão processados
+     */
+    public ParallelTokenizer(TextTokenizer tokenizer, ForkJoinPool pool) {
+        this.tokenizer = tokenizer;
+        this.pool = pool;
+    }
+
+    /**
+     * Tokeniza um texto em paralelo, removendo stopwords
+     *
+     * @param text Texto a ser tokenizado
+     * @return Array de tokens na ordem original
+     */
+    public String[] tokenizeToArray(String text) {
+        return tokenizeToArray(text, true);
+    }
+
+    /**
+     * Tokeniza um texto em paralelo
+     *
+     * @param text            Texto a ser tokenizado
+     * @param removeStopwords Se true, remove stopwords
+     * @return Array de tokens na ordem original
+     */
+    public String[] tokenizeToArray(String text, boolean removeStopwords) {
+        if (text == null || text.isEmpty()) {
+            return new String[0];
+        }
+
+        int chunks = Math.min(pool.getParallelism() * CHUNKS_PER_THREAD,
+                Math.max(1, text.length() / MIN_CHUNK));
+        long[] bounds = new long[chunks + 1];
+        bounds[chunks] = text.length();
+        for (int i = 1; i < chunks; i++) {
+            // Avança a borda até um separador (ou até a borda anterior/fim)
+            int b = Math.max((int) bounds[i - 1], (int) ((long) text.length() * i / chunks));
+            while (b < text.length() && WordScanner.CLASS[text.charAt(b)] != WordScanner.SEPARATOR) {
+                b++;
+            }
+            bounds[i] = b;
+        }
+
+        List<String>[] results = newResults(chunks);
+        pool.invoke(new ChunkTask(bounds, 0, chunks, results, (index, tokens) -> {
+            WordScanner scanner = tokenizer.newScanner(removeStopwords, tokens::add);
+            scanner.feed(text, (int) bounds[index], (int) bounds[index + 1]);
+            scanner.finish();
+        }));
+        return concat(results);
+    }
+
+    /**
+     * Tokeniza um arquivo em paralelo, mapeando cada bloco diretamente do disco
+     * (sem carregar o texto inteiro). As bordas são deslocadas até um byte
+     * separador ASCII, que em UTF-8 nunca faz parte de um caractere multibyte,
+     * então cada bloco pode ser varrido (em bytes) de forma independente.
+     *
+     * @param filePath        Caminho do arquivo de texto
+     * @param removeStopwords Se true, remove stopwords
+     * @return Array de tokens na ordem original (vazio se o arquivo não puder
+     *         ser lido)
+     */
+    public String[] tokenizeFileToArray(String filePath, boolean removeStopwords) {
+        try {
+            return tokenizeFileToArray(filePath, removeStopwords, () -> false);
+        } catch (UncheckedIOException e) {
+            System.err.println("Error: Could not tokenize file in parallel: " + e.getCause().getMessage());
+            return new String[0];
+        }
+    }
+
+    /**
+     * Tokeniza um arquivo em paralelo, como acima, consultando o sinal de
+     * cancelamento a cada fatia de SLICE_BYTES: depois de cancelada, a
+     * tokenização para em poucos milissegundos em vez de ir até o fim do
+     * arquivo
+     *
+     * @param filePath        Caminho do arquivo de texto
+     * @param removeStopwords Se true, remove stopwords
+     * @param cancelado       Retorna true quando o resultado não interessa mais
+     * @return Array de tokens na ordem original
+     * @throws UncheckedIOException  Se o arquivo não puder ser lido (inclusive no
+     *                               meio da varredura)
+     * @throws CancellationException Se a tokenização foi cancelada
+     */
+    public String[] tokenizeFileToArray(String filePath, boolean removeStopwords, BooleanSupplier cancelado) {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return new String[0];
+            }
+
+            long byParallelism = Math.min(pool.getParallelism() * CHUNKS_PER_THREAD,
+                    Math.max(1, size / MIN_CHUNK));
+            int chunks = (int) Math.max(byParallelism, (size + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+            long[] bounds = new long[chunks + 1];
+            bounds[chunks] = size;
+            for (int i = 1; i < chunks; i++) {
+                bounds[i] = nextSeparator(channel, Math.max(bounds[i - 1], size * i / chunks), size);
+            }
+
+            List<String>[] results = newResults(chunks);
+            pool.invoke(new ChunkTask(bounds, 0, chunks, results, (index, tokens) -> {
+                Utf8Scanner scanner = tokenizer.newUtf8Scanner(removeStopwords, tokens::add);
+                long start = bounds[index];
+                long length = bounds[index + 1] - start;
+                if (length > 0) {
+                    try {
+                        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                        for (int offset = 0; offset < length && !cancelado.getAsBoolean(); offset += SLICE_BYTES) {
+                            scanner.feed(mapped.slice(offset, (int) Math.min(SLICE_BYTES, length - offset)));
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                scanner.finish();
+            }));
+            if (cancelado.getAsBoolean()) {
+                throw new CancellationException("Tokenization cancelled");
+            }
+            return concat(results);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Procura, a partir de uma posição, o próximo byte separador do arquivo
+     *
+     * @return Posição do separador (ou o tamanho do arquivo se não houver)
+     */
+    private static long nextSeparator(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                int b = probe.get(i) & 0xFF;
+                if (b < 0x80 && WordScanner.CLASS[b] == WordScanner.SEPARATOR) {
+                    return position + i;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String>[] newResults(int chunks) {
+        return (List<String>[]) new List<?>[chunks];
+    }
+
+    /**
+     * Junta os resultados dos blocos na ordem original
+     */
+    private static String[] concat(List<String>[] results) {
+        int total = 0;
+        for (List<String> part : results) {
+            total += part.size();
+        }
+        String[] tokens = new String[total];
+        int offset = 0;
+        for (List<String> part : results) {
+            for (String token : part) {
+                tokens[offset++] = token;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Trabalho executado sobre um bloco
+     */
+    private interface ChunkWork {
+        void run(int index, List<String> tokens);
+    }
+
+    /**
+     * Tarefa fork/join que divide o intervalo de blocos ao meio até sobrar um
+     * único bloco
+     */
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] bounds; // Bordas dos blocos
+        private final int from; // Primeiro bloco (inclusivo)
+        private final int to; // Último bloco (exclusivo)
+        private final List<String>[] results; // Tokens de cada bloco
+        private final ChunkWork work; // Tokenização de um bloco
+
+        ChunkTask(long[] bounds, int from, int to, List<String>[] results, ChunkWork work) {
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+            this.work = work;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                // Estimativa de ~1 token a cada 8 caracteres para evitar realocações
+                List<String> tokens = new ArrayList<>((int) Math.min(Integer.MAX_VALUE - 8,
+                        (bounds[to] - bounds[from]) / 8 + 1));
+                work.run(from, tokens);
+                results[from] = tokens;
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(bounds, from, mid, results, work),
+                    new ChunkTask(bounds, mid, to, results, work));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+// src/tokenizer/StopwordDictionary.java
+
+package tokenizer;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dicionário imutável de stopwords, compartilhado por todo o processo
+ * Cada arquivo de stopwords é lido e compilado uma única vez (ver shared): os
+ * tokenizadores que usam o mesmo arquivo recebem a mesma instância. As palavras
+ * ficam em um vetor ordenado (listagem e cópias derivadas) e em uma tabela hash
+ * compacta (CharSliceSet) consultada pelos scanners.
+ *
+ * Alterações não modificam o dicionário: with/without devolvem uma cópia
+ * derivada, feita a partir do vetor ordenado, sem reler o arquivo.
+ */
+public final class StopwordDictionary {
+    /** Dicionário sem nenhuma stopword */
+    public static final StopwordDictionary EMPTY = new StopwordDictionary(new String[0]);
+
+    private static final Map<Path, StopwordDictionary> SHARED = new ConcurrentHashMap<>(); // Por arquivo
+
+    private final String[] words; // Palavras em ordem alfabética, sem repetições
+    private final CharSliceSet table; // Mesmas palavras, consultáveis por hash
+
+    /**
+     * @param sortedWords Palavras já ordenadas e sem repetições
+     */
+    private StopwordDictionary(String[] sortedWords) {
+        this.words = sortedWords;
+        this.table = new CharSliceSet(Arrays.asList(sortedWords));
+    }
+
+    /**
+     * Obtém o dicionário de um arquivo de stopwords, lendo-o somente na primeira
+     * vez em que o arquivo é pedido neste processo. Se a leitura falhar, devolve
+     * as stopwords padrão sem guardá-las: o próximo pedido tenta o arquivo de
+     * novo.
+     *
+     * @param filePath Caminho do arquivo de stopwords (uma palavra por linha)
+     * @return Dicionário compartilhado (ou o padrão, se o arquivo não pôde ser lido)
+     */
+    public static StopwordDictionary shared(String filePath) {
+        Path key = Paths.get(filePath).toAbsolutePath().normalize();
+        StopwordDictionary dictionary = SHARED.computeIfAbsent(key, StopwordDictionary::load);
+        return dictionary != null ? dictionary : defaults();
+    }
+
+    /**
+     * Faz o parse do arquivo de stopwords
+     *
+     * @return Dicionário lido, ou null se o arquivo não pôde ser lido (nada é
+     *         guardado em SHARED)
+     */
+    private static StopwordDictionary load(Path textFile) {
+        TreeSet<String> parsed = new TreeSet<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(textFile.toFile()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim().toLowerCase();
+                if (!word.isEmpty()) {
+                    parsed.add(word);
+                }
+            }
+            System.out.println("Loaded " + parsed.size() + " stopwords from file.");
+        } catch (IOException e) {
+            System.err.println("Warning: Could not load stopwords file: " + e.getMessage());
+            return null; // shared usa as stopwords padrão em português
+        }
+        return new StopwordDictionary(parsed.toArray(new String[0]));
+    }
+
+    /**
+     * Stopwords padrão em português (fallback)
+     *
+     * @return Dicionário com a lista reduzida embutida
+     */
+    public static StopwordDictionary defaults() {
+        String[] defaultStopwords = {
+                "de", "a", "o", "que", "e", "do", "da", "em", "um", "para", "é", "com", "não",
+                "uma", "os", "no", "se", "na", "por", "mais", "as", "dos", "como", "mas", "foi",
+                "ao", "ele", "das", "tem", "à", "seu", "sua", "ou", "ser", "quando", "muito",
+                // ... (lista completa de stopwords em português)
+        };
+        StopwordDictionary dictionary = of(Arrays.asList(defaultStopwords));
+        System.out.println("Using default stopwords: " + dictionary.size() + " words.");
+        return dictionary;
+    }
+
+    /**
+     * Cria um dicionário a partir de uma coleção de palavras
+     *
+     * @param stopwords Palavras (normalizadas com trim e toLowerCase)
+     * @return Novo dicionário
+     */
+    public static StopwordDictionary of(Iterable<String> stopwords) {
+        TreeSet<String> sorted = new TreeSet<>();
+        for (String word : stopwords) {
+            String normalized = word.trim().toLowerCase();
+            if (!normalized.isEmpty()) {
+                sorted.add(normalized);
+            }
+        }
+        return new StopwordDictionary(sorted.toArray(new String[0]));
+    }
+
+    /**
+     * Cópia derivada com uma stopword a mais (o dicionário atual não muda)
+     *
+     * @param word Palavra a ser acrescentada
+     * @return Novo dicionário (ou o próprio, se a palavra já existir)
+     */
+    public StopwordDictionary with(String word) {
+        String normalized = word.toLowerCase().trim();
+        int pos = Arrays.binarySearch(words, normalized);
+        if (pos >= 0 || normalized.isEmpty()) {
+            return this;
+        }
+        int insertAt = -pos - 1;
+        String[] copy = new String[words.length + 1];
+        System.arraycopy(words, 0, copy, 0, insertAt);
+        copy[insertAt] = normalized;
+        System.arraycopy(words, insertAt, copy, insertAt + 1, words.length - insertAt);
+        return new StopwordDictionary(copy);
+    }
+
+    /**
+     * Cópia derivada sem uma stopword (o dicionário atual não muda)
+     *
+     * @param word Palavra a ser retirada
+     * @return Novo dicionário (ou o próprio, se a palavra não existir)
+     */
+    public StopwordDictionary without(String word) {
+        int pos = Arrays.binarySearch(words, word.toLowerCase().trim());
+        if (pos < 0) {
+            return this;
+        }
+        String[] copy = new String[words.length - 1];
+        System.arraycopy(words, 0, copy, 0, pos);
+        System.arraycopy(words, pos + 1, copy, pos, words.length - pos - 1);
+        return new StopwordDictionary(copy);
+    }
+
+    /**
+     * @param word Palavra em minúsculas
+     * @return True se a palavra é stopword
+     */
+    public boolean contains(String word) {
+        return table.contains(word);
+    }
+
+    /**
+     * @return Número de stopwords
+     */
+    public int size() {
+        return words.length;
+    }
+
+    /**
+     * @return Stopwords em ordem alfabética (lista imutável)
+     */
+    public List<String> words() {
+        return List.of(words);
+    }
+
+    /**
+     * Tabela hash usada pelos scanners
+     */
+    CharSliceSet table() {
+        return table;
+    }
+}
@@ -0,0 +1,195 @@
+// src/tokenizer/SymbolTable.java
+
+package tokenizer;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de símbolos (dicionário de palavras)
+ * Atribui a cada palavra distinta um ID inteiro denso (0, 1, 2, ...) e guarda
+ * uma única instância de String por palavra. Também fornece o mapeamento de
+ * cada ID para sua posição alfabética (rank), permitindo que as estruturas
+ * comparem inteiros em vez de Strings.
+ */
+public class SymbolTable {
+    private String[] words; // Palavra de cada ID
+    private int[] hashes; // Hash de cada ID (fórmula de String.hashCode)
+    private int[] slots; // Tabela hash aberta: ID + 1 (0 = posição livre)
+    private int size; // Número de palavras distintas
+    private int[] ranks; // Cache de ranks (null se a tabela mudou desde o cálculo)
+
+    /**
+     * Construtor padrão
+     */
+    public SymbolTable() {
+        this(1024);
+    }
+
+    /**
+     * Construtor com capacidade inicial
+     *
+     * @param expectedWords Número esperado de palavras distintas
+     */
+    public SymbolTable(int expectedWords) {
+        int capacity = Math.max(16, expectedWords);
+        words = new String[capacity];
+        hashes = new int[capacity];
+        slots = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+    }
+
+    /**
+     * Obtém o ID de uma palavra, cadastrando-a se ainda não existir
+     *
+     * @param word Palavra
+     * @return ID da palavra
+     */
+    public int idOf(String word) {
+        int h = word.hashCode();
+        int mask = slots.length - 1;
+        int slot = spread(h) & mask;
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (hashes[id] == h && words[id].equals(word)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return add(word, h, slot);
+    }
+
+    /**
+     * Obtém o ID do token, reaproveitando o hash calculado pelo scanner. A
+     * String só é criada quando o token é uma palavra nova no vocabulário.
+     *
+     * @param token Visão do token
+     * @return ID da palavra
+     */
+    public int idOf(TokenView token) {
+        int h = token.hashCode();
+        int mask = slots.length - 1;
+        int slot = spread(h) & mask;
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (hashes[id] == h && token.contentEquals(words[id])) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return add(token.toString(), h, slot);
+    }
+
+    /**
+     * Procura o ID de uma palavra sem cadastrá-la
+     *
+     * @param word Palavra
+     * @return ID da palavra ou -1 se não existir
+     */
+    public int find(String word) {
+        int h = word.hashCode();
+        int mask = slots.length - 1;
+        int slot = spread(h) & mask;
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (hashes[id] == h && words[id].equals(word)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Cadastra uma nova palavra na posição livre encontrada
+     */
+    private int add(String word, int h, int slot) {
+        int id = size++;
+        if (id == words.length) {
+            words = Arrays.copyOf(words, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+        }
+        words[id] = word;
+        hashes[id] = h;
+        slots[slot] = id + 1;
+        ranks = null;
+
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Dobra a tabela hash, reinserindo os IDs existentes
+     */
+    private void rehash() {
+        int[] novo = new int[slots.length * 2];
+        int mask = novo.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = spread(hashes[id]) & mask;
+            while (novo[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            novo[slot] = id + 1;
+        }
+        slots = novo;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Converte uma sequência de palavras em IDs
+     *
+     * @param tokens Palavras
+     * @return IDs correspondentes, na mesma ordem
+     */
+    public int[] encode(String[] tokens) {
+        int[] ids = new int[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            ids[i] = idOf(tokens[i]);
+        }
+        return ids;
+    }
+
+    /**
+     * Obtém a palavra de um ID
+     *
+     * @param id ID da palavra
+     * @return Palavra
+     */
+    public String word(int id) {
+        return words[id];
+    }
+
+    /**
+     * @return Número de palavras distintas
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtém a posição alfabética (rank) de cada ID. Comparar ranks equivale a
+     * comparar as palavras com compareTo. O vetor é recalculado somente quando
+     * novas palavras foram cadastradas.
+     *
+     * @return Vetor onde ranks[id] é a posição alfabética da palavra
+     */
+    public int[] ranks() {
+        if (ranks == null) {
+            Integer[] order = new Integer[size];
+            for (int id = 0; id < size; id++) {
+                order[id] = id;
+            }
+            // Ordena apenas o vocabulário (palavras distintas), não os tokens
+            Arrays.sort(order, (a, b) -> words[a].compareTo(words[b]));
+            int[] r = new int[size];
+            for (int pos = 0; pos < size; pos++) {
+                r[order[pos]] = pos;
+            }
+            ranks = r;
+        }
+        return ranks;
+    }
+}
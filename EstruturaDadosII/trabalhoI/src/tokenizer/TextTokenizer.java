@@ -2,8 +2,18 @@
 package tokenizer;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.*;
 
 /**
@@ -11,19 +21,22 @@ import java.util.regex.*;
  * e removendo stopwords (palavras muito comuns sem significado lexical)
  */
 public class TextTokenizer {
-    private Set<String> stopwords; // Conjunto de palavras a serem ignoradas
+    private static final long MAP_WINDOW = 64L * 1024 * 1024; // Janela mapeada por vez no modo streaming
+    private static final int CHAR_CHUNK = 8192; // Tamanho do bloco de caracteres decodificados
+    /** Preposições comuns procuradas no meio de palavras longas, em ordem de prioridade */
+    public static final List<String> DEFAULT_COMPOUND_PREPOSITIONS = List.of(
+            "de", "da", "do", "em", "na", "no", "para", "com");
+
+    private volatile StopwordDictionary stopwords; // Palavras a serem ignoradas (imutável, compartilhado)
     public String TEXT; // Texto carregado para processamento
     private Pattern punctuationPattern; // Padrão regex para identificar pontuação
+    private AhoCorasick compoundAutomaton; // Palavras de ligação compiladas (criado sob demanda)
 
     /**
      * Construtor padrão - inicializa com stopwords do arquivo padrão
      */
     public TextTokenizer() {
-        this.stopwords = new HashSet<>();
-        this.TEXT = "";
-        // Padrão para dividir texto baseado em pontuação e espaços
-        this.punctuationPattern = Pattern.compile("[\\p{Punct}\\s]+");
-        loadStopwords("src/resources/stopwords.txt");
+        this("src/resources/stopwords.txt");
     }
 
     /**
@@ -32,47 +45,20 @@ public class TextTokenizer {
      * @param stopwordsFilePath Caminho para o arquivo de stopwords
      */
     public TextTokenizer(String stopwordsFilePath) {
-        this.stopwords = new HashSet<>();
-        this.TEXT = "";
-        this.punctuationPattern = Pattern.compile("[\\p{Punct}\\s]+");
-        loadStopwords(stopwordsFilePath);
+        // O arquivo só é lido na primeira vez; os demais tokenizadores compartilham o dicionário
+        this(StopwordDictionary.shared(stopwordsFilePath));
     }
 
     /**
-     * Carrega stopwords de um arquivo
+     * Construtor com um dicionário de stopwords já carregado
      * 
-     * @param filePath Caminho do arquivo de stopwords
+     * @param stopwords Dicionário de stopwords (compartilhado, imutável)
      */
-    private void loadStopwords(String filePath) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String word = line.trim().toLowerCase();
-                if (!word.isEmpty()) {
-                    stopwords.add(word);
-                }
-            }
-            System.out.println("Loaded " + stopwords.size() + " stopwords from file.");
-        } catch (IOException e) {
-            System.err.println("Warning: Could not load stopwords file: " + e.getMessage());
-            // Carrega stopwords padrão em português se arquivo não for encontrado
-            loadDefaultStopwords();
-        }
-    }
-
-    /**
-     * Carrega stopwords padrão em português (fallback)
-     */
-    private void loadDefaultStopwords() {
-        String[] defaultStopwords = {
-                "de", "a", "o", "que", "e", "do", "da", "em", "um", "para", "é", "com", "não",
-                "uma", "os", "no", "se", "na", "por", "mais", "as", "dos", "como", "mas", "foi",
-                "ao", "ele", "das", "tem", "à", "seu", "sua", "ou", "ser", "quando", "muito",
-                // ... (lista completa de stopwords em português)
-        };
-
-        Collections.addAll(stopwords, defaultStopwords);
-        System.out.println("Using default stopwords: " + stopwords.size() + " words.");
+    public TextTokenizer(StopwordDictionary stopwords) {
+        this.stopwords = stopwords;
+        this.TEXT = "";
+        // Padrão para dividir texto baseado em pontuação e espaços
+        this.punctuationPattern = Pattern.compile("[\\p{Punct}\\s]+");
     }
 
     /**
@@ -117,6 +103,28 @@ public class TextTokenizer {
      * @return Lista de tokens (palavras)
      */
     public List<String> tokenize(String text, boolean removeStopwords) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        // Passada única: minúsculas, validação e filtro de stopwords juntos
+        WordScanner scanner = newScanner(removeStopwords, tokens::add);
+        scanner.feed(text, 0, text.length());
+        scanner.finish();
+        return tokens;
+    }
+
+    /**
+     * Implementação original da tokenização, baseada em regex (split +
+     * String.matches por token). Mantida como referência de comportamento e para
+     * comparação de desempenho com o scanner (ver TokenizerBenchmark).
+     * 
+     * @param text            Texto a ser tokenizado
+     * @param removeStopwords Se true, remove stopwords da lista resultante
+     * @return Lista de tokens (palavras)
+     */
+    public List<String> tokenizeWithRegex(String text, boolean removeStopwords) {
         if (text == null || text.trim().isEmpty()) {
             return new ArrayList<>();
         }
@@ -150,6 +158,171 @@ public class TextTokenizer {
         return tokens;
     }
 
+    /**
+     * Cria um scanner de palavras ligado às stopwords atuais
+     * 
+     * @param removeStopwords Se true, o scanner descarta stopwords
+     * @param consumer        Destino dos tokens aceitos
+     * @return Novo scanner
+     */
+    WordScanner newScanner(boolean removeStopwords, Consumer<String> consumer) {
+        return WordScanner.forStrings(removeStopwords ? getStopwordTable() : null, consumer);
+    }
+
+    /**
+     * Cria um scanner que entrega os tokens como visões (sem cópia)
+     * 
+     * @param removeStopwords Se true, o scanner descarta stopwords
+     * @param consumer        Destino dos tokens aceitos
+     * @return Novo scanner
+     */
+    WordScanner newViewScanner(boolean removeStopwords, Consumer<TokenView> consumer) {
+        return new WordScanner(removeStopwords ? getStopwordTable() : null, consumer);
+    }
+
+    /**
+     * Tokeniza texto entregando cada token como uma TokenView: uma fatia do
+     * buffer de origem com o hash já calculado, sem criar String. A visão é
+     * reutilizada e só vale durante a chamada ao consumidor.
+     * 
+     * @param text            Texto a ser tokenizado
+     * @param removeStopwords Se true, remove stopwords
+     * @param consumer        Destino de cada token
+     * @return Número de tokens entregues
+     */
+    public long tokenizeViews(String text, boolean removeStopwords, Consumer<TokenView> consumer) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        WordScanner scanner = newViewScanner(removeStopwords, consumer);
+        scanner.feed(text, 0, text.length());
+        return scanner.finish();
+    }
+
+    /**
+     * Obtém a tabela de stopwords consultável por char[] (já compilada no
+     * dicionário)
+     * 
+     * @return Tabela de stopwords
+     */
+    private CharSliceSet getStopwordTable() {
+        return stopwords.table();
+    }
+
+    /**
+     * Tokeniza um arquivo em modo streaming, sem carregar o texto inteiro em
+     * memória. O arquivo é mapeado em janelas via FileChannel.map e os bytes
+     * UTF-8 são varridos diretamente (sem decodificar para UTF-16); cada token
+     * válido é entregue ao consumidor assim que encontrado. O consumo de
+     * memória passa a depender apenas do destino dos tokens (ex.: o vocabulário
+     * da estrutura), não do tamanho do arquivo. Todas as ocorrências de uma
+     * palavra são entregues como a mesma instância de String.
+     * 
+     * @param filePath        Caminho do arquivo de texto
+     * @param removeStopwords Se true, remove stopwords
+     * @param consumer        Destino de cada token encontrado
+     * @return Número de tokens entregues ao consumidor
+     */
+    public long tokenizeFile(String filePath, boolean removeStopwords, Consumer<String> consumer) {
+        Utf8Scanner scanner = newUtf8Scanner(removeStopwords, consumer);
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAP_WINDOW) {
+                // O scanner guarda caracteres e tokens cortados na borda da janela
+                long length = Math.min(MAP_WINDOW, size - position);
+                scanner.feed(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+            }
+        } catch (IOException e) {
+            System.err.println("Error: Could not stream text file: " + e.getMessage());
+        }
+        return scanner.finish();
+    }
+
+    /**
+     * Tokeniza bytes UTF-8 (ex.: um trecho mapeado de arquivo) sem decodificá-los
+     * para String
+     * 
+     * @param utf8            Bytes do texto (a posição é avançada até o limite)
+     * @param removeStopwords Se true, remove stopwords
+     * @param consumer        Destino de cada token encontrado
+     * @return Número de tokens entregues ao consumidor
+     */
+    public long tokenizeBytes(ByteBuffer utf8, boolean removeStopwords, Consumer<String> consumer) {
+        Utf8Scanner scanner = newUtf8Scanner(removeStopwords, consumer);
+        scanner.feed(utf8);
+        return scanner.finish();
+    }
+
+    /**
+     * Cria um scanner de bytes UTF-8 que usa as stopwords atuais. O scanner
+     * guarda o estado entre chamadas de feed, então pode receber o arquivo em
+     * blocos de qualquer tamanho (ex.: estágio de tokenização do pipeline).
+     * 
+     * @param removeStopwords Se true, o scanner descarta stopwords
+     * @param consumer        Destino dos tokens aceitos
+     * @return Novo scanner
+     */
+    public Utf8Scanner newUtf8Scanner(boolean removeStopwords, Consumer<String> consumer) {
+        return new Utf8Scanner(removeStopwords ? getStopwordTable() : null, consumer);
+    }
+
+    /**
+     * Tokeniza um arquivo em modo streaming entregando cada token como uma
+     * TokenView (ver tokenizeViews)
+     * 
+     * @param filePath        Caminho do arquivo de texto
+     * @param removeStopwords Se true, remove stopwords
+     * @param consumer        Destino de cada token
+     * @return Número de tokens entregues ao consumidor
+     */
+    public long tokenizeFileViews(String filePath, boolean removeStopwords, Consumer<TokenView> consumer) {
+        return streamFile(filePath, newViewScanner(removeStopwords, consumer));
+    }
+
+    /**
+     * Lê o arquivo em janelas mapeadas, alimentando o scanner
+     * 
+     * @param filePath Caminho do arquivo de texto
+     * @param scanner  Scanner que recebe os caracteres decodificados
+     * @return Número de tokens emitidos pelo scanner
+     */
+    private long streamFile(String filePath, WordScanner scanner) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(CHAR_CHUNK);
+        // O scanner guarda o token em construção, que pode atravessar blocos
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+
+            while (position < size) {
+                long length = Math.min(MAP_WINDOW, size - position);
+                boolean last = position + length >= size;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                CoderResult result;
+                do {
+                    result = decoder.decode(window, chars, last);
+                    chars.flip();
+                    scanner.feed(chars);
+                    chars.clear();
+                } while (result.isOverflow());
+
+                // Bytes de um caractere cortado no fim da janela são remapeados na próxima
+                position += window.position();
+            }
+
+            decoder.flush(chars);
+            chars.flip();
+            scanner.feed(chars);
+        } catch (IOException e) {
+            System.err.println("Error: Could not stream text file: " + e.getMessage());
+        }
+        return scanner.finish();
+    }
+
     /**
      * Tokenização com divisão de palavras compostas
      * Apenas para casos específicos onde palavras estão concatenadas
@@ -162,20 +335,19 @@ public class TextTokenizer {
         List<String> basicTokens = tokenize(text, false); // Não remove stopwords ainda
         List<String> result = new ArrayList<>();
 
+        AhoCorasick automaton = getCompoundAutomaton();
+        int[] first = new int[automaton.size()]; // Primeira ocorrência de cada preposição
+        int[] found = new int[automaton.size()]; // Preposições encontradas na palavra atual
+        Arrays.fill(first, -1);
+
         for (String token : basicTokens) {
             // Apenas tenta dividir se o token for suspeitamente longo (>10 chars)
-            if (token.length() > 10 && containsLikelyCompound(token)) {
-                List<String> splitTokens = trySplitCompound(token);
-                for (String splitToken : splitTokens) {
-                    if (!removeStopwords || !stopwords.contains(splitToken)) {
-                        result.add(splitToken);
-                    }
-                }
-            } else {
-                // Mantém o token original
-                if (!removeStopwords || !stopwords.contains(token)) {
-                    result.add(token);
-                }
+            if (token.length() > 10 && trySplitCompound(token, automaton, first, found, result, removeStopwords)) {
+                continue;
+            }
+            // Mantém o token original
+            if (!removeStopwords || !stopwords.contains(token)) {
+                result.add(token);
             }
         }
 
@@ -183,58 +355,94 @@ public class TextTokenizer {
     }
 
     /**
-     * Verifica se uma palavra provavelmente contém elementos compostos
+     * Tenta dividir palavras compostas de forma conservadora
+     * Uma única passada do autômato encontra a primeira ocorrência de todas as
+     * preposições; vence a primeira preposição da lista que aparece após pelo
+     * menos 3 chars e antes de pelo menos 3 chars, com as duas partes válidas.
      * 
-     * @param word Palavra a ser verificada
-     * @return True se a palavra parece ser composta
-     */
-    private boolean containsLikelyCompound(String word) {
-        // Procura por preposições comuns no meio de palavras longas
-        String[] commonPreps = { "de", "da", "do", "em", "na", "no", "para", "com" };
-
-        for (String prep : commonPreps) {
-            // Verifica se a preposição aparece após pelo menos 3 chars e antes de pelo
-            // menos 3 chars
-            int index = word.indexOf(prep);
-            if (index > 2 && index + prep.length() < word.length() - 2) {
-                return true;
+     * @param word            Palavra a ser dividida
+     * @param automaton       Autômato das preposições de ligação
+     * @param first           Área de trabalho (toda -1 na entrada e na saída)
+     * @param found           Área de trabalho para os padrões encontrados
+     * @param result          Lista que recebe as partes
+     * @param removeStopwords Se true, não adiciona partes que são stopwords
+     * @return True se a palavra foi dividida
+     */
+    private boolean trySplitCompound(String word, AhoCorasick automaton, int[] first, int[] found,
+            List<String> result, boolean removeStopwords) {
+        int count = automaton.firstOccurrences(word, first, found);
+
+        // Escolhe a preposição de maior prioridade (menor índice) que serve
+        int best = -1;
+        for (int k = 0; k < count; k++) {
+            int id = found[k];
+            int index = first[id];
+            int end = index + automaton.pattern(id).length();
+            if ((best < 0 || id < best) && index > 2 && end < word.length() - 2
+                    && isWordPart(word, 0, index) && isWordPart(word, end, word.length())) {
+                best = id;
+            }
+        }
+
+        int index = best >= 0 ? first[best] : -1;
+        for (int k = 0; k < count; k++) {
+            first[found[k]] = -1; // Restaura a área de trabalho
+        }
+        if (best < 0) {
+            return false;
+        }
+
+        String prep = automaton.pattern(best);
+        String[] parts = { word.substring(0, index), prep, word.substring(index + prep.length()) };
+        for (String part : parts) {
+            if (!removeStopwords || !stopwords.contains(part)) {
+                result.add(part);
             }
         }
-        return false;
+        return true;
     }
 
     /**
-     * Tenta dividir palavras compostas de forma conservadora
-     * 
-     * @param word Palavra a ser dividida
-     * @return Lista de partes da palavra
+     * Verifica por tabela (sem regex) se um trecho parece uma palavra válida:
+     * no mínimo 3 letras aceitas, em minúsculas
      */
-    private List<String> trySplitCompound(String word) {
-        List<String> result = new ArrayList<>();
-
-        String[] commonPreps = { "de", "da", "do", "em", "na", "no", "para", "com" };
-
-        for (String prep : commonPreps) {
-            int index = word.indexOf(prep);
-            if (index > 2 && index + prep.length() < word.length() - 2) {
-                String before = word.substring(0, index);
-                String after = word.substring(index + prep.length());
-
-                // Apenas divide se ambas as partes parecerem palavras válidas
-                if (before.length() >= 3 && after.length() >= 3 &&
-                        before.matches("[a-záéíóúàèìòùâêîôûãõç]+") &&
-                        after.matches("[a-záéíóúàèìòùâêîôûãõç]+")) {
-                    result.add(before);
-                    result.add(prep);
-                    result.add(after);
-                    return result;
-                }
+    private static boolean isWordPart(String word, int from, int to) {
+        if (to - from < 3) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (!WordScanner.isAcceptedLetter(word.charAt(i))) {
+                return false;
             }
         }
+        return true;
+    }
 
-        // Se nenhuma divisão funcionou, retorna a palavra original
-        result.add(word);
-        return result;
+    /**
+     * Define as preposições (ou outras palavras de ligação) usadas para dividir
+     * palavras compostas, em ordem de prioridade. Listas grandes não deixam a
+     * divisão mais lenta, pois todas são procuradas em uma única passada.
+     * 
+     * @param prepositions Palavras de ligação
+     */
+    public synchronized void setCompoundPrepositions(List<String> prepositions) {
+        List<String> normalized = new ArrayList<>();
+        for (String prep : prepositions) {
+            normalized.add(prep.toLowerCase().trim());
+        }
+        compoundAutomaton = new AhoCorasick(normalized);
+    }
+
+    /**
+     * Obtém o autômato das palavras de ligação (padrão: DEFAULT_COMPOUND_PREPOSITIONS)
+     * 
+     * @return Autômato compilado
+     */
+    private synchronized AhoCorasick getCompoundAutomaton() {
+        if (compoundAutomaton == null) {
+            compoundAutomaton = new AhoCorasick(DEFAULT_COMPOUND_PREPOSITIONS);
+        }
+        return compoundAutomaton;
     }
 
     /**
@@ -248,22 +456,66 @@ public class TextTokenizer {
         return tokens.toArray(new String[0]);
     }
 
+    /**
+     * Tokeniza texto em paralelo (fork/join) e retorna como array, na mesma ordem
+     * de tokenizeToArray
+     * 
+     * @param text Texto a ser tokenizado
+     * @return Array de tokens
+     * @see ParallelTokenizer
+     */
+    public String[] tokenizeToArrayParallel(String text) {
+        return new ParallelTokenizer(this).tokenizeToArray(text);
+    }
+
+    /**
+     * Tokeniza um arquivo em streaming, convertendo cada token no ID da tabela de
+     * símbolos. Os tokens chegam como visões com hash pré-calculado: apenas a
+     * primeira ocorrência de cada palavra vira String; as demais viram só um
+     * int.
+     * 
+     * @param filePath Caminho do arquivo de texto
+     * @param table    Tabela de símbolos que recebe o vocabulário
+     * @return IDs dos tokens, na ordem do texto
+     */
+    public int[] tokenizeFileToIds(String filePath, SymbolTable table) {
+        int[][] ids = { new int[1024] }; // Vetor crescente (em array para uso no lambda)
+        int[] count = { 0 };
+        tokenizeFileViews(filePath, true, token -> {
+            if (count[0] == ids[0].length) {
+                ids[0] = Arrays.copyOf(ids[0], count[0] * 2);
+            }
+            ids[0][count[0]++] = table.idOf(token);
+        });
+        return Arrays.copyOf(ids[0], count[0]);
+    }
+
     /**
      * Retorna o conjunto atual de stopwords
      * 
      * @return Conjunto de stopwords
      */
     public Set<String> getStopwords() {
-        return new HashSet<>(stopwords);
+        return new HashSet<>(stopwords.words());
     }
 
     /**
-     * Adiciona uma stopword personalizada
+     * Retorna o dicionário de stopwords em uso (imutável)
+     * 
+     * @return Dicionário de stopwords
+     */
+    public StopwordDictionary getStopwordDictionary() {
+        return stopwords;
+    }
+
+    /**
+     * Adiciona uma stopword personalizada. O dicionário compartilhado não é
+     * alterado: este tokenizador passa a usar uma cópia derivada.
      * 
      * @param word Palavra a ser adicionada como stopword
      */
     public void addStopword(String word) {
-        stopwords.add(word.toLowerCase().trim());
+        stopwords = stopwords.with(word);
     }
 
     /**
@@ -272,14 +524,14 @@ public class TextTokenizer {
      * @param word Palavra a ser removida das stopwords
      */
     public void removeStopword(String word) {
-        stopwords.remove(word.toLowerCase().trim());
+        stopwords = stopwords.without(word);
     }
 
     /**
      * Limpa todas as stopwords
      */
     public void clearStopwords() {
-        stopwords.clear();
+        stopwords = StopwordDictionary.EMPTY;
     }
 
     /**
@@ -296,6 +548,32 @@ public class TextTokenizer {
         return occurrenceMap;
     }
 
+    /**
+     * Cria um mapa de ocorrências direto do texto, sem a lista intermediária
+     * Os tokens são contados por ID reaproveitando o hash do scanner; só cada
+     * palavra distinta é copiada para uma String.
+     * 
+     * @param text Texto a ser tokenizado (stopwords removidas)
+     * @return Mapa com palavras como chaves e contagens como valores
+     */
+    public Map<String, Integer> createOccurrenceMap(String text) {
+        SymbolTable table = new SymbolTable();
+        int[][] counts = { new int[1024] }; // Contagem por ID (em array para uso no lambda)
+        tokenizeViews(text, true, token -> {
+            int id = table.idOf(token);
+            if (id == counts[0].length) {
+                counts[0] = Arrays.copyOf(counts[0], id * 2);
+            }
+            counts[0][id]++;
+        });
+
+        Map<String, Integer> occurrenceMap = new HashMap<>(table.size() * 2);
+        for (int id = 0; id < table.size(); id++) {
+            occurrenceMap.put(table.word(id), counts[0][id]);
+        }
+        return occurrenceMap;
+    }
+
     /**
      * Método principal para testes
      * 
@@ -321,7 +599,7 @@ public class TextTokenizer {
                 System.out.println((i + 1) + ": " + tokens.get(i));
             }
 
-            Map<String, Integer> map = tokenizer.createOccurrenceMap(tokens);
+            Map<String, Integer> map = tokenizer.createOccurrenceMap(tokenizer.TEXT);
             System.out.println("\nTotal unique words: " + map.size());
         }
     }
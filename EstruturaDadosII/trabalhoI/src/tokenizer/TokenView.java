@@ -0,0 +1,104 @@
+// src/tokenizer/TokenView.java
+
+package tokenizer;
+
+/**
+ * Visão (fatia) de um token dentro do buffer de origem do scanner
+ * Guarda apenas o buffer, o deslocamento, o tamanho e o hash calculado durante
+ * a varredura, sem copiar os caracteres. A conversão para minúsculas é feita na
+ * leitura, pela tabela de classes do scanner. O hash é idêntico ao
+ * String.hashCode da palavra em minúsculas, então pode ser reaproveitado por
+ * qualquer estrutura baseada em hash.
+ *
+ * A mesma instância é reutilizada pelo scanner para todos os tokens: ela só é
+ * válida durante a chamada ao consumidor. Para guardar a palavra, use
+ * toString().
+ */
+public final class TokenView implements CharSequence {
+    private char[] source; // Buffer de origem (compartilhado com o scanner)
+    private int offset; // Início do token no buffer
+    private int length; // Tamanho do token
+    private int hash; // Hash da palavra em minúsculas
+
+    /**
+     * Reposiciona a visão sobre um novo token
+     */
+    void set(char[] source, int offset, int length, int hash) {
+        this.source = source;
+        this.offset = offset;
+        this.length = length;
+        this.hash = hash;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return WordScanner.CLASS[source[offset + index]];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    /**
+     * Hash calculado uma única vez durante a varredura
+     *
+     * @return Mesmo valor de toString().hashCode()
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Compara o token com uma palavra sem criar String
+     *
+     * @param word Palavra (em minúsculas)
+     * @return True se têm o mesmo conteúdo
+     */
+    public boolean contentEquals(String word) {
+        if (word.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (word.charAt(i) != WordScanner.CLASS[source[offset + i]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compara o token com um trecho de char[] já em minúsculas
+     */
+    boolean contentEquals(char[] chars) {
+        if (chars.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[i] != WordScanner.CLASS[source[offset + i]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copia o token para uma String (em minúsculas)
+     *
+     * @return Palavra do token
+     */
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = WordScanner.CLASS[source[offset + i]];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,101 @@
+// src/tokenizer/TokenizerBenchmark.java
+
+package tokenizer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Comparação de vazão entre a tokenização original (regex), o scanner de
+ * passada única, o scanner paralelo (fork/join) e o scanner de bytes UTF-8
+ * (que parte dos bytes do arquivo, sem decodificar o texto)
+ * Uso: java tokenizer.TokenizerBenchmark [arquivo.txt] [tamanhoMinimoEmChars]
+ */
+public class TokenizerBenchmark {
+    private static final int WARMUP = 3; // Rodadas de aquecimento da JIT
+    private static final int ROUNDS = 5; // Rodadas medidas
+
+    public static void main(String[] args) {
+        TextTokenizer tokenizer = new TextTokenizer();
+        String arquivo = args.length > 0 ? args[0] : "src/resources/atv.txt";
+        int tamanhoMinimo = args.length > 1 ? Integer.parseInt(args[1]) : 8_000_000;
+
+        // Repete o texto até atingir o tamanho desejado
+        tokenizer.loadTextFile(arquivo);
+        StringBuilder corpus = new StringBuilder();
+        while (corpus.length() < tamanhoMinimo && !tokenizer.TEXT.isEmpty()) {
+            corpus.append(tokenizer.TEXT).append('\n');
+        }
+        String texto = corpus.toString();
+
+        // Todos os caminhos precisam gerar exatamente os mesmos tokens
+        List<String> esperado = tokenizer.tokenizeWithRegex(texto, true);
+        List<String> obtido = tokenizer.tokenize(texto, true);
+        if (!esperado.equals(obtido)) {
+            System.err.println("ERRO: scanner e regex produziram tokens diferentes!");
+            return;
+        }
+        ParallelTokenizer paralelo = new ParallelTokenizer(tokenizer);
+        if (!esperado.equals(List.of(paralelo.tokenizeToArray(texto)))) {
+            System.err.println("ERRO: scanner paralelo produziu tokens diferentes!");
+            return;
+        }
+
+        byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+        if (!esperado.equals(tokenizarBytes(tokenizer, utf8))) {
+            System.err.println("ERRO: scanner UTF-8 produziu tokens diferentes!");
+            return;
+        }
+
+        System.out.println("=== TOKENIZAÇÃO: REGEX x SCANNER x PARALELO x UTF-8 ===");
+        System.out.println("Texto: " + texto.length() + " caracteres, " + esperado.size() + " tokens");
+
+        double regexMs = medir(() -> tokenizer.tokenizeWithRegex(texto, true));
+        double scannerMs = medir(() -> tokenizer.tokenize(texto, true));
+        double paraleloMs = medir(() -> paralelo.tokenizeToArray(texto));
+        // O caminho por chars precisa decodificar os bytes antes de varrer
+        double decodificarMs = medir(() -> tokenizer.tokenize(new String(utf8, StandardCharsets.UTF_8), true));
+        double utf8Ms = medir(() -> tokenizarBytes(tokenizer, utf8));
+
+        imprimir("Regex", regexMs, texto.length(), esperado.size());
+        imprimir("Scanner", scannerMs, texto.length(), esperado.size());
+        imprimir("Paralelo", paraleloMs, texto.length(), esperado.size());
+        imprimir("Dec+Scan", decodificarMs, texto.length(), esperado.size());
+        imprimir("UTF-8", utf8Ms, texto.length(), esperado.size());
+        System.out.printf("Ganho do scanner: %.1fx%n", regexMs / scannerMs);
+        System.out.printf("Ganho do paralelo sobre o scanner: %.1fx (%d threads)%n",
+                scannerMs / paraleloMs, ForkJoinPool.commonPool().getParallelism());
+        System.out.printf("Ganho do UTF-8 sobre decodificar + scanner: %.1fx%n", decodificarMs / utf8Ms);
+    }
+
+    private static List<String> tokenizarBytes(TextTokenizer tokenizer, byte[] utf8) {
+        List<String> tokens = new ArrayList<>();
+        tokenizer.tokenizeBytes(ByteBuffer.wrap(utf8), true, tokens::add);
+        return tokens;
+    }
+
+    /**
+     * Executa a tarefa várias vezes e retorna o melhor tempo em milissegundos
+     */
+    private static double medir(Runnable tarefa) {
+        for (int i = 0; i < WARMUP; i++) {
+            tarefa.run();
+        }
+        double melhor = Double.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long inicio = System.nanoTime();
+            tarefa.run();
+            melhor = Math.min(melhor, (System.nanoTime() - inicio) / 1_000_000.0);
+        }
+        return melhor;
+    }
+
+    private static void imprimir(String nome, double ms, int caracteres, int tokens) {
+        double segundos = ms / 1000.0;
+        System.out.printf("%-8s %10.2f ms %10.1f MB/s %12.0f tokens/s%n",
+                nome, ms, caracteres / segundos / 1_000_000.0, tokens / segundos);
+    }
+}
@@ -0,0 +1,300 @@
+// src/tokenizer/Utf8Scanner.java
+
+package tokenizer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Scanner de palavras que trabalha direto sobre os bytes UTF-8 do arquivo
+ * Evita a decodificação do texto inteiro para UTF-16: bytes ASCII seguem por
+ * um caminho rápido (tabela de classes), e as letras acentuadas de dois bytes
+ * (á, ç, ã, ...) são reconhecidas por uma pequena máquina de estados. A
+ * conversão para minúsculas é feita nos próprios bytes, e cada palavra é
+ * procurada em um dicionário indexado pelos bytes: a String só é decodificada
+ * na primeira vez em que a palavra aparece. Nesse mesmo momento é decidido (e
+ * guardado) se a palavra é stopword.
+ *
+ * Produz exatamente os mesmos tokens que WordScanner sobre o texto decodificado
+ * com CodingErrorAction.REPLACE: sequências inválidas viram um caractere não
+ * aceito, que invalida o token sem engolir o byte seguinte.
+ *
+ * Instâncias são criadas por TextTokenizer.newUtf8Scanner e não são
+ * thread-safe: cada thread (ou estágio de pipeline) usa o seu scanner.
+ */
+public final class Utf8Scanner {
+    private final CharSliceSet stopwords; // null quando stopwords não são removidas
+    private final Consumer<String> consumer; // Destino dos tokens aceitos
+
+    // Token atual (bytes UTF-8 já em minúsculas)
+    private byte[] token = new byte[64];
+    private int bytes = 0; // Bytes usados em token
+    private int length = 0; // Tamanho do token em chars
+    private int hash = 0; // Hash dos bytes do token
+    private boolean valid = true; // False se o token contém caractere não aceito
+    private boolean pendingTrim = false; // Há controles após o conteúdo (só valem se vier mais conteúdo)
+
+    // Sequência multibyte em andamento (pode atravessar chamadas de feed)
+    private int need = 0; // Bytes de continuação que ainda faltam
+    private int codePoint = 0; // Code point acumulado
+    private int minCodePoint = 0; // Menor valor aceito (rejeita codificações longas demais)
+
+    // Dicionário de palavras já vistas, indexado pelos bytes
+    private byte[][] keys = new byte[1024][]; // Bytes de cada palavra (null = posição livre)
+    private int[] hashes = new int[1024]; // Hash dos bytes de cada posição
+    private String[] words = new String[1024]; // Palavra decodificada (null = stopword)
+    private int entries = 0; // Palavras no dicionário
+
+    private long emitted = 0; // Total de tokens emitidos
+
+    /**
+     * @param stopwords Tabela de stopwords a remover (ou null para manter todas)
+     * @param consumer  Destino de cada palavra aceita
+     */
+    Utf8Scanner(CharSliceSet stopwords, Consumer<String> consumer) {
+        this.stopwords = stopwords;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Processa os bytes restantes de um buffer (a posição é avançada até o
+     * limite). Um caractere multibyte ou um token pode continuar no próximo
+     * buffer.
+     *
+     * @param buffer Bytes UTF-8
+     */
+    public void feed(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset();
+            feed(buffer.array(), offset + buffer.position(), offset + buffer.limit());
+            buffer.position(buffer.limit());
+            return;
+        }
+        // Buffers mapeados: copia em blocos para o laço trabalhar sobre byte[]
+        byte[] chunk = new byte[Math.min(8192, Math.max(1, buffer.remaining()))];
+        while (buffer.hasRemaining()) {
+            int n = Math.min(chunk.length, buffer.remaining());
+            buffer.get(chunk, 0, n);
+            feed(chunk, 0, n);
+        }
+    }
+
+    /**
+     * Laço principal do scanner
+     *
+     * @param data Bytes UTF-8
+     * @param from Índice inicial (inclusivo)
+     * @param to   Índice final (exclusivo)
+     */
+    void feed(byte[] data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int b = data[i];
+            if (b >= 0) {
+                // Caminho rápido: ASCII
+                if (need > 0) {
+                    need = 0;
+                    invalidChar(); // Sequência interrompida
+                }
+                char cls = WordScanner.CLASS[b];
+                if (cls == WordScanner.SEPARATOR) {
+                    if (length > 0) {
+                        flush();
+                    }
+                } else if (cls == WordScanner.TRIMMED) {
+                    pendingTrim = length > 0;
+                } else if (cls == WordScanner.INVALID) {
+                    invalidChar();
+                } else {
+                    letter(cls);
+                }
+                continue;
+            }
+
+            b &= 0xFF;
+            if (need > 0) {
+                if ((b & 0xC0) == 0x80) {
+                    codePoint = (codePoint << 6) | (b & 0x3F);
+                    if (--need == 0) {
+                        endCodePoint();
+                    }
+                    continue;
+                }
+                need = 0;
+                invalidChar(); // Sequência interrompida; b é tratado como novo início
+            }
+
+            if (b >= 0xC2 && b <= 0xDF) {
+                // Dois bytes: faixa das letras acentuadas
+                need = 1;
+                codePoint = b & 0x1F;
+                minCodePoint = 0x80;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                need = 2;
+                codePoint = b & 0x0F;
+                minCodePoint = 0x800;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                need = 3;
+                codePoint = b & 0x07;
+                minCodePoint = 0x10000;
+            } else {
+                invalidChar(); // Continuação solta ou byte inicial inválido
+            }
+        }
+    }
+
+    /**
+     * Classifica um code point multibyte completo
+     */
+    private void endCodePoint() {
+        if (codePoint < minCodePoint || codePoint > Character.MAX_VALUE
+                || Character.isSurrogate((char) codePoint)) {
+            // Inválido ou fora do BMP (vira par de surrogates, nunca aceito)
+            invalidChar();
+            return;
+        }
+        char cls = WordScanner.CLASS[codePoint];
+        if (cls > WordScanner.TRIMMED) {
+            letter(cls);
+        } else {
+            invalidChar(); // Fora do ASCII não há separadores nem controles <= ' '
+        }
+    }
+
+    /**
+     * Acrescenta uma letra aceita (já em minúsculas) ao token, em UTF-8
+     */
+    private void letter(char c) {
+        beginChar();
+        if (valid) {
+            if (bytes + 2 > token.length) {
+                token = Arrays.copyOf(token, token.length * 2);
+            }
+            if (c < 0x80) {
+                token[bytes++] = (byte) c;
+                hash = 31 * hash + c;
+            } else {
+                byte b1 = (byte) (0xC0 | (c >> 6));
+                byte b2 = (byte) (0x80 | (c & 0x3F));
+                token[bytes++] = b1;
+                token[bytes++] = b2;
+                hash = 31 * (31 * hash + b1) + b2;
+            }
+        }
+        length++;
+    }
+
+    /**
+     * Conta um caractere não aceito, invalidando o token
+     */
+    private void invalidChar() {
+        beginChar();
+        valid = false;
+        length++;
+    }
+
+    /**
+     * Controles entre conteúdo invalidam o token (mesma regra de trim())
+     */
+    private void beginChar() {
+        if (pendingTrim) {
+            valid = false;
+            pendingTrim = false;
+        }
+    }
+
+    /**
+     * Encerra a entrada, emitindo o último token pendente
+     *
+     * @return Total de tokens emitidos por este scanner
+     */
+    public long finish() {
+        if (need > 0) {
+            need = 0;
+            invalidChar(); // Sequência truncada no fim do arquivo
+        }
+        if (length > 0) {
+            flush();
+        }
+        return emitted;
+    }
+
+    /**
+     * @return Número de palavras distintas (incluindo stopwords) já decodificadas
+     */
+    int vocabularySize() {
+        return entries;
+    }
+
+    /**
+     * Decide sobre o token acumulado e reinicia o estado
+     */
+    private void flush() {
+        if (valid && length >= 2) {
+            String word = lookup();
+            if (word != null) {
+                consumer.accept(word);
+                emitted++;
+            }
+        }
+        bytes = 0;
+        length = 0;
+        hash = 0;
+        valid = true;
+        pendingTrim = false;
+    }
+
+    /**
+     * Procura o token no dicionário, decodificando-o apenas se for novo
+     *
+     * @return Palavra (a mesma instância em todas as ocorrências) ou null se
+     *         for stopword
+     */
+    private String lookup() {
+        int mask = keys.length - 1;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (keys[slot] != null) {
+            if (hashes[slot] == hash && Arrays.equals(keys[slot], 0, keys[slot].length, token, 0, bytes)) {
+                return words[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        String word = new String(token, 0, bytes, StandardCharsets.UTF_8);
+        keys[slot] = Arrays.copyOf(token, bytes);
+        hashes[slot] = hash;
+        if (stopwords != null && stopwords.contains(word)) {
+            word = null;
+        }
+        words[slot] = word;
+        if (++entries * 2 > keys.length) {
+            rehash();
+        }
+        return word;
+    }
+
+    /**
+     * Dobra o dicionário, reinserindo as palavras existentes
+     */
+    private void rehash() {
+        byte[][] oldKeys = keys;
+        int[] oldHashes = hashes;
+        String[] oldWords = words;
+        keys = new byte[oldKeys.length * 2][];
+        hashes = new int[keys.length];
+        words = new String[keys.length];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = (oldHashes[i] ^ (oldHashes[i] >>> 16)) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                hashes[slot] = oldHashes[i];
+                words[slot] = oldWords[i];
+            }
+        }
+    }
+}
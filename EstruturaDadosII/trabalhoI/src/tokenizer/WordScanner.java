@@ -0,0 +1,257 @@
+// src/tokenizer/WordScanner.java
+
+package tokenizer;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Scanner de palavras em passada única, sem expressões regulares
+ * Classifica cada caractere por uma tabela pré-calculada que já devolve a
+ * letra em minúsculas, valida e filtra stopwords sem copiar caracteres: cada
+ * token aceito é entregue como uma TokenView (fatia do buffer de origem com o
+ * hash já calculado). Somente quem precisa guardar a palavra cria a String.
+ *
+ * Produz exatamente os mesmos tokens que a divisão por [\p{Punct}\s]+ seguida
+ * de toLowerCase, trim e do filtro [a-záéíóúàèìòùâêîôûãõç]+ com no mínimo 2
+ * letras. O estado é mantido entre chamadas de feed, então um token pode
+ * atravessar blocos (modo streaming); só nesse caso os caracteres são copiados
+ * para um buffer auxiliar.
+ */
+final class WordScanner {
+    static final String ACCEPTED_LETTERS = "abcdefghijklmnopqrstuvwxyzáéíóúàèìòùâêîôûãõç";
+
+    static final char INVALID = 0; // Caractere que invalida o token atual
+    static final char SEPARATOR = 1; // Pontuação ASCII ou espaço
+    static final char TRIMMED = 2; // Controle <= ' ' removido por trim() nas bordas do token
+
+    /**
+     * Tabela de classes: para cada char, SEPARATOR, TRIMMED, INVALID ou a letra
+     * aceita já em minúsculas
+     */
+    static final char[] CLASS = buildClassTable();
+
+    private final CharSliceSet stopwords; // null quando stopwords não são removidas
+    private final Consumer<TokenView> consumer; // Destino dos tokens aceitos
+    private final TokenView view = new TokenView(); // Visão reutilizada para todos os tokens
+
+    private char[] spill = new char[32]; // Cópia de um token que atravessa blocos
+    private boolean spilled = false; // True se o token atual está em spill
+    private int start = 0; // Início do token atual no bloco corrente
+    private int length = 0; // Tamanho do token atual
+    private int hash = 0; // Hash do token atual (mesma fórmula de String.hashCode)
+    private boolean valid = true; // False se o token contém caractere não aceito
+    private boolean pendingTrim = false; // Há controles após o conteúdo (só valem se vier mais conteúdo)
+    private long emitted = 0; // Total de tokens emitidos
+
+    /**
+     * @param stopwords Tabela de stopwords a remover (ou null para manter todas)
+     * @param consumer  Destino de cada token aceito (a visão só vale durante a
+     *                  chamada)
+     */
+    WordScanner(CharSliceSet stopwords, Consumer<TokenView> consumer) {
+        this.stopwords = stopwords;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Cria um scanner que entrega cada token aceito como String
+     *
+     * @param stopwords Tabela de stopwords a remover (ou null para manter todas)
+     * @param consumer  Destino de cada palavra aceita
+     * @return Novo scanner
+     */
+    static WordScanner forStrings(CharSliceSet stopwords, Consumer<String> consumer) {
+        return new WordScanner(stopwords, token -> consumer.accept(token.toString()));
+    }
+
+    /**
+     * Monta a tabela de classes usando a mesma conversão para minúsculas de
+     * String.toLowerCase, para manter o resultado idêntico ao da versão com
+     * regex
+     */
+    private static char[] buildClassTable() {
+        char[] table = new char[Character.MAX_VALUE + 1];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (isSeparator((char) c)) {
+                table[c] = SEPARATOR;
+                continue;
+            }
+            if (c <= ' ') {
+                table[c] = TRIMMED;
+                continue;
+            }
+            String lower = String.valueOf((char) c).toLowerCase();
+            if (lower.length() == 1 && ACCEPTED_LETTERS.indexOf(lower.charAt(0)) >= 0) {
+                table[c] = lower.charAt(0);
+            } else {
+                table[c] = INVALID;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Verifica se o char é uma das letras aceitas, já em minúsculas
+     *
+     * @param c Caractere a ser verificado
+     * @return True se c pertence a [a-záéíóúàèìòùâêîôûãõç]
+     */
+    static boolean isAcceptedLetter(char c) {
+        return c >= 'a' && CLASS[c] == c;
+    }
+
+    /**
+     * Equivalente a [\p{Punct}\s] (pontuação ASCII e espaços)
+     *
+     * @param c Caractere a ser verificado
+     * @return True se o caractere separa palavras
+     */
+    static boolean isSeparator(char c) {
+        if (c == ' ' || (c >= '\t' && c <= '\r')) {
+            return true;
+        }
+        return (c >= '!' && c <= '/') || (c >= ':' && c <= '@')
+                || (c >= '[' && c <= '`') || (c >= '{' && c <= '~');
+    }
+
+    /**
+     * Processa um trecho de texto
+     *
+     * @param text Texto de origem
+     * @param from Índice inicial (inclusivo)
+     * @param to   Índice final (exclusivo)
+     */
+    void feed(CharSequence text, int from, int to) {
+        // Copia em blocos para o laço principal trabalhar sobre char[]
+        char[] chunk = new char[Math.min(8192, Math.max(1, to - from))];
+        for (int begin = from; begin < to; begin += chunk.length) {
+            int end = Math.min(to, begin + chunk.length);
+            if (text instanceof String) {
+                ((String) text).getChars(begin, end, chunk, 0);
+            } else {
+                for (int i = begin; i < end; i++) {
+                    chunk[i - begin] = text.charAt(i);
+                }
+            }
+            feed(chunk, 0, end - begin);
+        }
+    }
+
+    /**
+     * Processa os caracteres restantes de um CharBuffer
+     *
+     * @param chars Buffer de caracteres (a posição é avançada até o limite)
+     */
+    void feed(CharBuffer chars) {
+        if (chars.hasArray()) {
+            int offset = chars.arrayOffset();
+            feed(chars.array(), offset + chars.position(), offset + chars.limit());
+            chars.position(chars.limit());
+        } else {
+            char[] copy = new char[chars.remaining()];
+            chars.get(copy);
+            feed(copy, 0, copy.length);
+        }
+    }
+
+    /**
+     * Laço principal do scanner. Os tokens emitidos apontam para chars, que não
+     * pode ser alterado durante a chamada.
+     *
+     * @param chars Caracteres de origem
+     * @param from  Índice inicial (inclusivo)
+     * @param to    Índice final (exclusivo)
+     */
+    void feed(char[] chars, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char cls = CLASS[chars[i]];
+            if (cls == SEPARATOR) {
+                if (length > 0) {
+                    flush(chars);
+                }
+                continue;
+            }
+            if (cls == TRIMMED) {
+                // Nas bordas é descartado por trim(); no meio invalida o token
+                pendingTrim = length > 0;
+                continue;
+            }
+            if (pendingTrim) {
+                valid = false;
+                pendingTrim = false;
+            }
+            if (length == 0) {
+                start = i;
+            }
+            if (cls == INVALID) {
+                valid = false;
+            } else if (valid) {
+                hash = 31 * hash + cls;
+                if (spilled) {
+                    appendSpill(cls);
+                }
+            }
+            length++;
+        }
+
+        // Token válido incompleto no fim do bloco: copia o que já foi lido, pois o
+        // buffer de origem será reaproveitado
+        if (length > 0 && valid && !spilled) {
+            int read = length;
+            length = 0;
+            spilled = true;
+            for (int i = 0; i < read; i++) {
+                appendSpill(CLASS[chars[start + i]]);
+                length++;
+            }
+        }
+    }
+
+    /**
+     * Acrescenta um caractere (já em minúsculas) ao token em spill
+     */
+    private void appendSpill(char c) {
+        if (length == spill.length) {
+            spill = Arrays.copyOf(spill, spill.length * 2);
+        }
+        spill[length] = c;
+    }
+
+    /**
+     * Encerra a entrada, emitindo o último token pendente
+     *
+     * @return Total de tokens emitidos por este scanner
+     */
+    long finish() {
+        if (length > 0) {
+            flush(null);
+        }
+        return emitted;
+    }
+
+    /**
+     * Decide sobre o token acumulado e reinicia o estado
+     *
+     * @param chars Bloco corrente, onde o token começa (se não estiver em spill)
+     */
+    private void flush(char[] chars) {
+        if (valid && length >= 2) {
+            if (spilled) {
+                view.set(spill, 0, length, hash);
+            } else {
+                view.set(chars, start, length, hash);
+            }
+            if (stopwords == null || !stopwords.contains(view)) {
+                consumer.accept(view);
+                emitted++;
+            }
+        }
+        length = 0;
+        hash = 0;
+        valid = true;
+        pendingTrim = false;
+        spilled = false;
+    }
+}
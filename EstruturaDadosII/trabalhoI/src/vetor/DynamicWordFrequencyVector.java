@@ -5,52 +5,93 @@ package vetor;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
+import arvore.TopKHeap;
 import arvore.TreeStats; // importando a mesma classe de estatísticas
-
-/**
- * Classe que representa uma palavra e sua frequência
- */
-class WordFrequency {
-    private String word;
-    private int frequency;
-
-    public WordFrequency(String word) {
-        this.word = word;
-        this.frequency = 1;
-    }
-
-    public String getWord() {
-        return word;
-    }
-
-    public int getFrequency() {
-        return frequency;
-    }
-
-    public void incrementFrequency() {
-        frequency++;
-    }
-
-    @Override
-    public String toString() {
-        return word + ": " + frequency;
-    }
-}
+import arvore.WordCount;
+import arvore.WordRange;
+import tokenizer.SymbolTable;
 
 /**
  * Implementação de vetor dinâmico com busca binária para contagem de
  * frequências
+ * As palavras ficam em vetores paralelos de tipos primitivos (palavra,
+ * frequência e rank), ordenados alfabeticamente. A busca binária devolve o
+ * ponto de inserção quando a palavra não existe, e a abertura da posição é
+ * feita com System.arraycopy; a capacidade dobra quando os vetores enchem.
+ *
+ * Na estratégia BUFFER_MERGE (estilo LSM), palavras novas não deslocam o vetor
+ * principal: vão para um buffer pequeno com hash. Quando o buffer atinge uma
+ * fração do vetor, ele é ordenado e intercalado no vetor principal de uma vez,
+ * de trás para frente, sem vetor auxiliar. Buscas consultam o buffer e o vetor
+ * principal; qualquer leitura em ordem intercala o buffer antes.
+ *
+ * Na estratégia SORT_COUNT, as construções em lote (buildWithStats) ordenam
+ * todos os tokens com Arrays.parallelSort e contam as repetições consecutivas
+ * em uma passada linear, sem nenhum deslocamento.
+ *
+ * Opcionalmente, um índice de prefixos de 2 caracteres guarda onde começa
+ * cada "balde" de palavras com as mesmas iniciais; a busca binária começa já
+ * restrita ao balde da palavra, economizando comparações de strings. Ele vem
+ * desligado, para que os contadores do vetor padrão continuem comparáveis com
+ * os das árvores.
  */
 public class DynamicWordFrequencyVector {
-    private final List<WordFrequency> vector;
+    private static final int CAPACIDADE_INICIAL = 16;
+    private static final int BUFFER_MINIMO = 256; // Menor tamanho do buffer antes do merge
+    private static final int FRACAO_BUFFER = 8; // Buffer chega a size / 8 antes do merge
+    private static final int CLASSES_CARACTERE = 28; // Classes de caractere: outros < a..z < outros
+    private static final int BALDES = CLASSES_CARACTERE * CLASSES_CARACTERE; // Baldes do índice de prefixos
+
+    private String[] words; // Palavras em ordem alfabética
+    private int[] frequencies; // Frequência de cada palavra
+    private int[] keys; // Rank alfabético de cada palavra (modo IDs) ou -1
+    private int[] ranksDasChaves; // Vetor de ranks de onde vieram os valores de keys (null = nenhum)
+    private int size; // Número de palavras distintas
     private int comparacoes;
     private int atribuicoes;
+    private final VectorStrategy strategy; // Estratégia de construção
+    private final int[] inicioBalde; // Primeira posição de cada balde de prefixo (null = sem índice)
+
+    // Buffer de palavras novas (estratégia BUFFER_MERGE), na ordem de chegada
+    private String[] bufferWords = new String[0];
+    private int[] bufferFrequencies = new int[0];
+    private int[] bufferKeys = new int[0];
+    private int[] bufferSlots = new int[0]; // Tabela hash aberta: índice no buffer + 1 (0 = livre)
+    private int bufferSize; // Palavras no buffer
 
     public DynamicWordFrequencyVector() {
-        this.vector = new ArrayList<>();
+        this(VectorStrategy.INCREMENTAL);
+    }
+
+    /**
+     * Construtor com estratégia de construção
+     * 
+     * @param strategy Estratégia usada nas inserções
+     */
+    public DynamicWordFrequencyVector(VectorStrategy strategy) {
+        this(strategy, false);
+    }
+
+    /**
+     * Construtor com estratégia de construção e opção de índice de prefixos
+     * 
+     * @param strategy      Estratégia usada nas inserções
+     * @param indicePrefixo true para restringir as buscas pelo índice de
+     *                      prefixos de 2 caracteres
+     */
+    public DynamicWordFrequencyVector(VectorStrategy strategy, boolean indicePrefixo) {
+        this.strategy = strategy;
+        this.inicioBalde = indicePrefixo ? new int[BALDES + 1] : null;
+        this.words = new String[CAPACIDADE_INICIAL];
+        this.frequencies = new int[CAPACIDADE_INICIAL];
+        this.keys = new int[CAPACIDADE_INICIAL];
+        this.size = 0;
         this.comparacoes = 0;
         this.atribuicoes = 0;
     }
@@ -59,17 +100,36 @@ public class DynamicWordFrequencyVector {
      * Busca binária para encontrar uma palavra no vetor
      * 
      * @param word Palavra a ser buscada
-     * @return Índice da palavra ou -1 se não encontrada
+     * @return Índice da palavra ou (-(ponto de inserção) - 1) se não encontrada
      */
     private int binarySearch(String word) {
+        return binarySearch(word, -1);
+    }
+
+    /**
+     * Busca binária comparando ranks inteiros quando disponíveis (modo IDs)
+     * 
+     * @param word Palavra a ser buscada
+     * @param key  Rank alfabético da palavra (ou -1 para comparar Strings)
+     * @return Índice da palavra ou (-(ponto de inserção) - 1) se não encontrada,
+     *         como em Arrays.binarySearch
+     */
+    private int binarySearch(String word, int key) {
         int left = 0;
-        int right = vector.size() - 1;
+        int right = size - 1;
+        if (inicioBalde != null) {
+            // Somente o balde das iniciais da palavra pode contê-la
+            int balde = balde(word);
+            left = inicioBalde[balde];
+            right = inicioBalde[balde + 1] - 1;
+            atribuicoes += 2; // Atribuições do left e do right
+        }
 
         while (left <= right) {
             int mid = left + (right - left) / 2;
             atribuicoes++; // Atribuição do mid
 
-            int comparison = vector.get(mid).getWord().compareTo(word);
+            int comparison = compare(mid, word, key);
             comparacoes++; // Comparação de strings
 
             if (comparison == 0)
@@ -82,7 +142,56 @@ public class DynamicWordFrequencyVector {
                 atribuicoes++; // Atribuição do right
             }
         }
-        return -1; // Palavra não encontrada
+        return -(left + 1); // Palavra não encontrada: left é o ponto de inserção
+    }
+
+    /**
+     * Classe de um caractere no índice de prefixos. A função é crescente em
+     * relação à ordem dos chars, então a ordem dos baldes acompanha compareTo.
+     * 
+     * @return 0 (antes de 'a'), 1 a 26 ('a' a 'z') ou 27 (depois de 'z')
+     */
+    private static int classe(char c) {
+        return c < 'a' ? 0 : c <= 'z' ? 1 + (c - 'a') : CLASSES_CARACTERE - 1;
+    }
+
+    /**
+     * Balde de uma palavra no índice de prefixos, pelos 2 primeiros caracteres.
+     * O segundo caractere só é usado quando o primeiro está entre 'a' e 'z':
+     * nas classes que agrupam vários chars, usá-lo quebraria a ordem.
+     * 
+     * @param word Palavra
+     * @return Balde entre 0 e BALDES - 1
+     */
+    private static int balde(String word) {
+        if (word.isEmpty()) {
+            return 0;
+        }
+        int primeira = classe(word.charAt(0));
+        if (primeira == 0 || primeira == CLASSES_CARACTERE - 1 || word.length() < 2) {
+            return primeira * CLASSES_CARACTERE;
+        }
+        return primeira * CLASSES_CARACTERE + classe(word.charAt(1));
+    }
+
+    /**
+     * Recalcula o índice de prefixos em uma passada, depois de alterações em
+     * lote (merge do buffer, construção por ordenação)
+     */
+    private void reconstruirIndice() {
+        if (inicioBalde == null) {
+            return;
+        }
+        int balde = 0;
+        for (int i = 0; i < size; i++) {
+            int b = balde(words[i]);
+            while (balde <= b) {
+                inicioBalde[balde++] = i;
+            }
+        }
+        while (balde <= BALDES) {
+            inicioBalde[balde++] = size;
+        }
     }
 
     /**
@@ -91,43 +200,249 @@ public class DynamicWordFrequencyVector {
      * @param word Palavra a ser inserida ou atualizada
      */
     public void insertOrUpdate(String word) {
-        if (vector.isEmpty()) {
-            vector.add(new WordFrequency(word));
-            atribuicoes++; // Atribuição do novo objeto
+        insertOrUpdate(word, -1);
+    }
+
+    /**
+     * Insere ou atualiza uma palavra, usando seu rank quando disponível
+     * 
+     * @param word Palavra a ser inserida ou atualizada
+     * @param key  Rank alfabético da palavra (ou -1 para comparar Strings)
+     */
+    private void insertOrUpdate(String word, int key) {
+        if (strategy == VectorStrategy.BUFFER_MERGE) {
+            insertOrUpdateBuffered(word, key);
             return;
         }
+        int index = binarySearch(word, key);
 
-        int index = binarySearch(word);
-
-        if (index != -1) {
+        if (index >= 0) {
             // Palavra já existe - incrementa frequência
-            vector.get(index).incrementFrequency();
+            frequencies[index]++;
             atribuicoes++; // Atribuição do incremento
         } else {
-            // Palavra não existe - insere na posição correta
-            insertInOrder(word);
+            // Palavra não existe - insere no ponto devolvido pela busca
+            insertAt(-index - 1, word, key);
         }
     }
 
     /**
-     * Insere uma nova palavra na posição ordenada correta
+     * Inserção da estratégia BUFFER_MERGE: incrementa no buffer ou no vetor
+     * principal; palavras novas entram no buffer sem deslocar nada
      * 
-     * @param word Palavra a ser inserida
+     * @param word Palavra a ser inserida ou atualizada
+     * @param key  Rank alfabético da palavra (ou -1 para comparar Strings)
      */
-    private void insertInOrder(String word) {
-        int i = 0;
-        while (i < vector.size()) {
-            int comparison = vector.get(i).getWord().compareTo(word);
-            comparacoes++; // Comparação de strings
+    private void insertOrUpdateBuffered(String word, int key) {
+        int slot = bufferSlot(word, key);
+        if (bufferSlots.length > 0 && bufferSlots[slot] != 0) {
+            bufferFrequencies[bufferSlots[slot] - 1]++;
+            atribuicoes++; // Atribuição do incremento
+            return;
+        }
+
+        int index = binarySearch(word, key);
+        if (index >= 0) {
+            frequencies[index]++;
+            atribuicoes++; // Atribuição do incremento
+            return;
+        }
+
+        if (bufferSize == bufferWords.length) {
+            ajustarBuffer();
+            slot = bufferSlot(word, key);
+        }
+        bufferWords[bufferSize] = word;
+        bufferFrequencies[bufferSize] = 1;
+        bufferKeys[bufferSize] = key;
+        bufferSlots[slot] = ++bufferSize;
+        atribuicoes += 2; // Atribuição da nova palavra e da frequência inicial
+
+        if (bufferSize >= Math.max(BUFFER_MINIMO, size / FRACAO_BUFFER)) {
+            mergeBuffer();
+        }
+    }
+
+    /**
+     * Procura a palavra na tabela hash do buffer
+     * 
+     * @return Posição da palavra na tabela ou a posição livre onde ela entraria
+     */
+    private int bufferSlot(String word, int key) {
+        if (bufferSlots.length == 0) {
+            return 0;
+        }
+        int mask = bufferSlots.length - 1;
+        int h = word.hashCode();
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (bufferSlots[slot] != 0) {
+            int i = bufferSlots[slot] - 1;
+            if (bufferWords[i].hashCode() == h) {
+                comparacoes++; // Comparação de strings (só quando o hash coincide)
+                boolean igual = key >= 0 && bufferKeys[i] >= 0 ? bufferKeys[i] == key : bufferWords[i].equals(word);
+                if (igual) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Dimensiona o buffer para o limite atual (size / FRACAO_BUFFER), mantendo o
+     * conteúdo. Só é chamado com o buffer cheio, antes de o limite crescer.
+     */
+    private void ajustarBuffer() {
+        int capacidade = Math.max(BUFFER_MINIMO, Math.max(bufferSize * 2, size / FRACAO_BUFFER));
+        bufferWords = Arrays.copyOf(bufferWords, capacidade);
+        bufferFrequencies = Arrays.copyOf(bufferFrequencies, capacidade);
+        bufferKeys = Arrays.copyOf(bufferKeys, capacidade);
+        bufferSlots = new int[Integer.highestOneBit(capacidade * 2 - 1) << 1];
+        int mask = bufferSlots.length - 1;
+        for (int i = 0; i < bufferSize; i++) {
+            int h = bufferWords[i].hashCode();
+            int slot = (h ^ (h >>> 16)) & mask;
+            while (bufferSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            bufferSlots[slot] = i + 1;
+        }
+    }
+
+    /**
+     * Ordena o buffer e o intercala no vetor principal (de trás para frente, sem
+     * vetor auxiliar). Custo O(n + b log b) a cada b = n / 8 palavras novas, ou
+     * seja, O(log n) amortizado por inserção.
+     */
+    private void mergeBuffer() {
+        if (bufferSize == 0) {
+            return;
+        }
+        int[] ordem = new int[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            ordem[i] = i;
+        }
+        ordenarBuffer(ordem, new int[bufferSize], 0, bufferSize);
+
+        int total = size + bufferSize;
+        if (total > words.length) {
+            int capacidade = Math.max(words.length * 2, total);
+            words = Arrays.copyOf(words, capacidade);
+            frequencies = Arrays.copyOf(frequencies, capacidade);
+            keys = Arrays.copyOf(keys, capacidade);
+        }
+
+        int i = size - 1; // Último do vetor principal
+        int j = bufferSize - 1; // Último do buffer ordenado
+        for (int k = total - 1; j >= 0; k--) {
+            int b = ordem[j];
+            boolean doBuffer = i < 0;
+            if (!doBuffer) {
+                comparacoes++; // Comparação do merge
+                doBuffer = compare(i, bufferWords[b], bufferKeys[b]) < 0;
+            }
+            if (doBuffer) {
+                words[k] = bufferWords[b];
+                frequencies[k] = bufferFrequencies[b];
+                keys[k] = bufferKeys[b];
+                j--;
+            } else {
+                words[k] = words[i];
+                frequencies[k] = frequencies[i];
+                keys[k] = keys[i];
+                i--;
+            }
+            atribuicoes++; // Atribuição da posição k
+        }
+        size = total;
+        reconstruirIndice();
+
+        Arrays.fill(bufferWords, 0, bufferSize, null);
+        Arrays.fill(bufferSlots, 0);
+        bufferSize = 0;
+    }
+
+    /**
+     * Merge sort dos índices do buffer, na ordem alfabética das palavras
+     */
+    private void ordenarBuffer(int[] ordem, int[] temp, int inicio, int fim) {
+        if (fim - inicio < 2) {
+            return;
+        }
+        int meio = (inicio + fim) >>> 1;
+        ordenarBuffer(ordem, temp, inicio, meio);
+        ordenarBuffer(ordem, temp, meio, fim);
+        int a = inicio;
+        int b = meio;
+        for (int k = inicio; k < fim; k++) {
+            boolean daEsquerda = b >= fim;
+            if (!daEsquerda && a < meio) {
+                comparacoes++; // Comparação da ordenação
+                daEsquerda = compareBuffer(ordem[a], ordem[b]) <= 0;
+            }
+            temp[k] = daEsquerda ? ordem[a++] : ordem[b++];
+            atribuicoes++; // Atribuição em temp
+        }
+        System.arraycopy(temp, inicio, ordem, inicio, fim - inicio);
+    }
 
-            if (comparison > 0)
-                break;
-            i++;
-            atribuicoes++; // Atribuição do i
+    /**
+     * Compara duas palavras do buffer (ranks quando ambas têm, senão compareTo)
+     */
+    private int compareBuffer(int a, int b) {
+        if (bufferKeys[a] >= 0 && bufferKeys[b] >= 0) {
+            return Integer.compare(bufferKeys[a], bufferKeys[b]);
+        }
+        return bufferWords[a].compareTo(bufferWords[b]);
+    }
+
+    /**
+     * Compara o elemento do vetor com a palavra buscada: por inteiros quando
+     * ambos têm rank (modo IDs), senão por compareTo
+     * 
+     * @return Negativo, zero ou positivo como em compareTo (elemento vs palavra)
+     */
+    private int compare(int index, String word, int key) {
+        if (key >= 0 && keys[index] >= 0) {
+            return Integer.compare(keys[index], key);
+        }
+        return words[index].compareTo(word);
+    }
+
+    /**
+     * Insere uma nova palavra na posição indicada, deslocando o restante
+     * 
+     * @param pos  Ponto de inserção (mantém a ordem alfabética)
+     * @param word Palavra a ser inserida
+     * @param key  Rank alfabético da palavra (ou -1)
+     */
+    private void insertAt(int pos, String word, int key) {
+        if (size == words.length) {
+            // Crescimento geométrico: custo de cópia amortizado O(1) por inserção
+            int capacidade = words.length * 2;
+            words = Arrays.copyOf(words, capacidade);
+            frequencies = Arrays.copyOf(frequencies, capacidade);
+            keys = Arrays.copyOf(keys, capacidade);
         }
 
-        vector.add(i, new WordFrequency(word));
-        atribuicoes += 2; // Atribuição do novo objeto e do add na posição
+        int mover = size - pos;
+        System.arraycopy(words, pos, words, pos + 1, mover);
+        System.arraycopy(frequencies, pos, frequencies, pos + 1, mover);
+        System.arraycopy(keys, pos, keys, pos + 1, mover);
+
+        words[pos] = word;
+        frequencies[pos] = 1;
+        keys[pos] = key;
+        size++;
+        atribuicoes += 2; // Atribuição da nova palavra e da frequência inicial
+
+        if (inicioBalde != null) {
+            // Os baldes seguintes começam uma posição adiante
+            for (int b = balde(word) + 1; b <= BALDES; b++) {
+                inicioBalde[b]++;
+            }
+        }
     }
 
     /**
@@ -162,9 +477,10 @@ public class DynamicWordFrequencyVector {
      * Exibe frequências de palavras no console
      */
     public void displayWordFrequencies() {
+        mergeBuffer();
         System.out.println("\n=== FREQUÊNCIA DE PALAVRAS (ORDEM ALFABÉTICA) ===");
-        for (WordFrequency wf : vector)
-            System.out.println(wf);
+        for (int i = 0; i < size; i++)
+            System.out.println(words[i] + ": " + frequencies[i]);
     }
 
     /**
@@ -174,19 +490,39 @@ public class DynamicWordFrequencyVector {
      * @return Frequência da palavra (0 se não encontrada)
      */
     public int getWordFrequency(String word) {
+        mergeBuffer();
         int index = binarySearch(word.toLowerCase());
-        if (index != -1)
-            return vector.get(index).getFrequency();
+        if (index >= 0)
+            return frequencies[index];
         return 0;
     }
 
+    /**
+     * Busca cada palavra do produtor no vetor, sem alterá-lo, e retorna as
+     * estatísticas das buscas (útil para medir o ganho do índice de prefixos)
+     * 
+     * @param produtor Recebe o destino das palavras e entrega cada uma a ele
+     * @return Estatísticas das buscas (comparações, atribuições e tempo)
+     */
+    public TreeStats searchWithStats(Consumer<Consumer<String>> produtor) {
+        mergeBuffer();
+        resetAnalise();
+
+        long inicio = System.nanoTime();
+        produtor.accept(this::binarySearch);
+        long fim = System.nanoTime();
+        double tempoExecucao = (fim - inicio) / 1_000_000.0;
+
+        return new TreeStats(comparacoes, atribuicoes, 0, tempoExecucao, 0);
+    }
+
     /**
      * Obtém número total de palavras distintas
      * 
      * @return Tamanho do vetor
      */
     public int getTotalDistinctWords() {
-        return vector.size();
+        return size + bufferSize;
     }
 
     /**
@@ -195,13 +531,87 @@ public class DynamicWordFrequencyVector {
      * @return Lista de strings no formato "palavra -> frequência"
      */
     public java.util.List<String> getFrequenciesAsList() {
-        java.util.List<String> result = new java.util.ArrayList<>();
-        for (WordFrequency wf : vector) {
-            result.add(wf.getWord() + " -> " + wf.getFrequency());
+        mergeBuffer();
+        java.util.List<String> result = new java.util.ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(words[i] + " -> " + frequencies[i]);
         }
         return result;
     }
 
+    /**
+     * Itera, em ordem alfabética, as palavras do intervalo [from, to) com suas
+     * frequências. Os dois limites são localizados por busca binária, com custo
+     * O(log n + k) para k palavras. O iterador lê o vetor diretamente: inserções
+     * durante a iteração invalidam o resultado.
+     * 
+     * @param from Menor palavra incluída (null = sem limite inferior)
+     * @param to   Primeira palavra excluída (null = sem limite superior)
+     * @return Iterador sobre as palavras do intervalo
+     */
+    public Iterator<WordCount> range(String from, String to) {
+        return range(new WordRange(from, to));
+    }
+
+    /**
+     * Itera, em ordem alfabética, as palavras que começam com o prefixo
+     * 
+     * @param p Prefixo procurado
+     * @return Iterador sobre as palavras com o prefixo
+     */
+    public Iterator<WordCount> prefix(String p) {
+        return range(WordRange.prefix(p));
+    }
+
+    private Iterator<WordCount> range(WordRange intervalo) {
+        mergeBuffer();
+        int inicio = intervalo.getInicio() == null ? 0 : limite(intervalo.getInicio());
+        int fim = intervalo.getFim() == null ? size : limite(intervalo.getFim());
+        return new Iterator<WordCount>() {
+            private int i = inicio;
+
+            @Override
+            public boolean hasNext() {
+                return i < fim;
+            }
+
+            @Override
+            public WordCount next() {
+                if (i >= fim) {
+                    throw new NoSuchElementException();
+                }
+                WordCount wc = new WordCount(words[i], frequencies[i]);
+                i++;
+                return wc;
+            }
+        };
+    }
+
+    /**
+     * @return Posição da primeira palavra maior ou igual à palavra dada
+     */
+    private int limite(String word) {
+        int index = binarySearch(word);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Obtém as k palavras mais frequentes em uma única passada pelo vetor, com
+     * um heap limitado a k elementos (sem formatar nem ordenar o vocabulário)
+     * 
+     * @param k Número de palavras desejadas
+     * @return Palavras da maior para a menor frequência (empates em ordem
+     *         alfabética)
+     */
+    public java.util.List<WordCount> topK(int k) {
+        mergeBuffer();
+        TopKHeap heap = new TopKHeap(k);
+        for (int i = 0; i < size; i++) {
+            heap.offer(words[i], frequencies[i]);
+        }
+        return heap.toList();
+    }
+
     /**
      * Constrói a busca a partir do vetor de palavras e retorna estatísticas
      * 
@@ -209,19 +619,194 @@ public class DynamicWordFrequencyVector {
      * @return Estatísticas do processamento
      */
     public TreeStats buildWithStats(String[] palavras) {
+        if (strategy == VectorStrategy.SORT_COUNT) {
+            return construir(() -> ordenarEContar(palavras, palavras.length));
+        }
+        return buildWithStats(destino -> {
+            for (String p : palavras) {
+                destino.accept(p);
+            }
+        });
+    }
+
+    /**
+     * Constrói a busca a partir de um produtor de palavras (ex.: tokenização em
+     * streaming de um arquivo). O tempo medido inclui o trabalho do produtor.
+     * Na estratégia SORT_COUNT as palavras são reunidas em um vetor e
+     * construídas em lote ao final.
+     * 
+     * @param produtor Recebe o destino das palavras e entrega cada uma a ele
+     * @return Estatísticas do processamento
+     */
+    public TreeStats buildWithStats(Consumer<Consumer<String>> produtor) {
+        if (strategy == VectorStrategy.SORT_COUNT) {
+            return construir(() -> {
+                String[][] coletadas = { new String[CAPACIDADE_INICIAL] };
+                int[] total = { 0 };
+                produtor.accept(p -> {
+                    if (total[0] == coletadas[0].length) {
+                        coletadas[0] = Arrays.copyOf(coletadas[0], total[0] * 2);
+                    }
+                    coletadas[0][total[0]++] = p;
+                });
+                ordenarEContar(coletadas[0], total[0]);
+            });
+        }
+        return construir(() -> produtor.accept(this::insertOrUpdate));
+    }
+
+    /**
+     * Constrói a busca a partir de IDs de palavras (tokens codificados por uma
+     * SymbolTable), comparando ranks inteiros em vez de Strings. Construções
+     * por IDs seguidas devem usar a mesma tabela, sem palavras novas entre elas
+     * (os ranks mudam quando a tabela cresce).
+     * 
+     * @param ids    IDs das palavras, na ordem de processamento
+     * @param tabela Tabela que gerou os IDs
+     * @return Estatísticas do processamento
+     * @throws IllegalArgumentException Se a tabela (ou seu vetor de ranks) não
+     *                                  for a da construção anterior por IDs
+     */
+    public TreeStats buildWithStats(int[] ids, SymbolTable tabela) {
+        int[] ranks = tabela.ranks();
+        if (ranksDasChaves != null && ranksDasChaves != ranks) {
+            // As chaves já guardadas são posições em outro vetor de ranks
+            throw new IllegalArgumentException(
+                    "Tabela diferente (ou com palavras novas) da usada na construção anterior por IDs");
+        }
+        ranksDasChaves = ranks;
+        if (strategy == VectorStrategy.SORT_COUNT) {
+            return construir(() -> contarPorRank(ids, tabela, ranks));
+        }
+        return construir(() -> {
+            for (int id : ids) {
+                insertOrUpdate(tabela.word(id), ranks[id]);
+            }
+        });
+    }
+
+    /**
+     * Construção em lote da estratégia SORT_COUNT: ordena uma cópia dos tokens
+     * com Arrays.parallelSort e transforma cada sequência de palavras iguais em
+     * um par (palavra, frequência). Custo O(t log t) comparações para t tokens,
+     * contra O(t log n) buscas mais O(n²) deslocamentos da inserção ordenada.
+     * 
+     * @param palavras Tokens a serem contados
+     * @param total    Quantidade de tokens válidos no início do vetor
+     */
+    private void ordenarEContar(String[] palavras, int total) {
+        String[] ordenadas = Arrays.copyOf(palavras, total);
+        atribuicoes += total; // Atribuições da cópia
+
+        // O comparador roda em várias threads: o contador precisa ser concorrente
+        LongAdder comparacoesOrdenacao = new LongAdder();
+        Arrays.parallelSort(ordenadas, (a, b) -> {
+            comparacoesOrdenacao.increment();
+            return a.compareTo(b);
+        });
+        comparacoes += comparacoesOrdenacao.intValue();
+
+        boolean anexar = size == 0; // Vetor vazio: as sequências já saem em ordem
+        int i = 0;
+        while (i < total) {
+            String palavra = ordenadas[i];
+            int fim = i + 1;
+            while (fim < total) {
+                comparacoes++; // Comparação com a palavra da sequência
+                if (!ordenadas[fim].equals(palavra)) {
+                    break;
+                }
+                fim++;
+            }
+            acrescentar(palavra, -1, fim - i, anexar);
+            i = fim;
+        }
+        if (anexar) {
+            reconstruirIndice();
+        }
+    }
+
+    /**
+     * Construção em lote da estratégia SORT_COUNT no modo IDs: como os ranks são
+     * densos (0 a n-1), a ordenação vira uma contagem por rank, sem comparações
+     * 
+     * @param ids    IDs das palavras
+     * @param tabela Tabela que gerou os IDs
+     * @param ranks  Rank alfabético de cada ID
+     */
+    private void contarPorRank(int[] ids, SymbolTable tabela, int[] ranks) {
+        int[] contagem = new int[tabela.size()];
+        int[] idDoRank = new int[tabela.size()];
+        for (int id : ids) {
+            contagem[ranks[id]]++;
+            idDoRank[ranks[id]] = id;
+            atribuicoes += 2; // Atribuições da contagem e do ID
+        }
+
+        boolean anexar = size == 0;
+        for (int rank = 0; rank < contagem.length; rank++) {
+            if (contagem[rank] > 0) {
+                acrescentar(tabela.word(idDoRank[rank]), rank, contagem[rank], anexar);
+            }
+        }
+        if (anexar) {
+            reconstruirIndice();
+        }
+    }
+
+    /**
+     * Acrescenta uma palavra já contada. Com anexar, a palavra vai para o fim
+     * (as chamadas chegam em ordem alfabética); senão é buscada e somada ou
+     * inserida na posição ordenada.
+     */
+    private void acrescentar(String word, int key, int frequencia, boolean anexar) {
+        if (!anexar) {
+            int index = binarySearch(word, key);
+            if (index >= 0) {
+                frequencies[index] += frequencia;
+                atribuicoes++; // Atribuição da soma
+                return;
+            }
+            insertAt(-index - 1, word, key);
+            frequencies[-index - 1] = frequencia;
+            return;
+        }
+        if (size == words.length) {
+            int capacidade = words.length * 2;
+            words = Arrays.copyOf(words, capacidade);
+            frequencies = Arrays.copyOf(frequencies, capacidade);
+            keys = Arrays.copyOf(keys, capacidade);
+        }
+        words[size] = word;
+        frequencies[size] = frequencia;
+        keys[size] = key;
+        size++;
+        atribuicoes += 2; // Atribuição da palavra e da frequência
+    }
+
+    /**
+     * Executa as inserções medindo tempo e contadores
+     */
+    private TreeStats construir(Runnable insercoes) {
         // RESET counters before starting
         resetAnalise();
 
         long inicio = System.nanoTime();
-        for (String p : palavras) {
-            insertOrUpdate(p);
-        }
+        insercoes.run();
+        mergeBuffer(); // O custo do último merge entra nas estatísticas
         long fim = System.nanoTime();
         double tempoExecucao = (fim - inicio) / 1_000_000.0;
 
         return new TreeStats(comparacoes, atribuicoes, 0, tempoExecucao, 0);
     }
 
+    /**
+     * @return Estratégia de construção usada por este vetor
+     */
+    public VectorStrategy getStrategy() {
+        return strategy;
+    }
+
     /**
      * Reseta contadores de análise
      */
@@ -0,0 +1,37 @@
+// src/vetor/VectorStrategy.java
+
+package vetor;
+
+/**
+ * Estratégias de construção do vetor ordenado de frequências
+ */
+public enum VectorStrategy {
+    /** Cada palavra nova é inserida direto na posição ordenada (deslocamento O(n)) */
+    INCREMENTAL("Inserção ordenada"),
+    /**
+     * Palavras novas vão para um buffer com hash, que é ordenado e intercalado no
+     * vetor principal quando enche (estilo LSM)
+     */
+    BUFFER_MERGE("Buffer + merge (LSM)"),
+    /**
+     * Construção em lote: todos os tokens são ordenados de uma vez e as
+     * sequências de palavras iguais viram pares (palavra, frequência) em uma
+     * única passada. Inserções avulsas continuam ordenadas, como INCREMENTAL.
+     */
+    SORT_COUNT("Ordenar e contar");
+
+    private final String descricao; // Nome exibido nas estatísticas e na interface
+
+    VectorStrategy(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}